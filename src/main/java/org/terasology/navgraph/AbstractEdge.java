@@ -0,0 +1,24 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import org.terasology.pathfinding.model.Path;
+
+/**
+ * Precomputed edge of the abstract graph. Connects the abstract block of an entrance to the abstract block of another
+ * entrance of the same floor or to a facing entrance of a neighbor floor.
+ */
+public class AbstractEdge {
+    public final WalkableBlock target;
+    public final float cost;
+    /**
+     * The local path to the target, in the order used by the searchers, or null if the target is a direct neighbor.
+     */
+    public final Path path;
+
+    public AbstractEdge(WalkableBlock target, float cost, Path path) {
+        this.target = target;
+        this.cost = cost;
+        this.path = path;
+    }
+}
@@ -0,0 +1,64 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import org.terasology.pathfinding.model.HAStar;
+import org.terasology.pathfinding.model.Path;
+
+/**
+ * Computes the abstract edges of the floors of a chunk, once its entrances are known.
+ * <p/>
+ * Every entrance is connected to all other entrances of its floor and to the entrances of its neighbor floors, that
+ * face back to its floor. Costs are measured the same way as the lazily computed costs of {@link HAStar}, so searches
+ * may mix both.
+ */
+public class AbstractEdgeFinder {
+    private HAStar localAStar;
+
+    public void findEdges(NavGraphChunk map) {
+        map.edgeChunks.clear();
+        for (Floor floor : map.floors) {
+            floor.clearAbstractEdges();
+            for (Entrance entrance : floor.entrances()) {
+                WalkableBlock from = entrance.getAbstractBlock();
+                if (from == null) {
+                    continue;
+                }
+                for (Entrance other : floor.entrances()) {
+                    connect(floor, from, other.getAbstractBlock());
+                }
+                for (Floor neighborFloor : entrance.neighborFloors) {
+                    for (Entrance neighborEntrance : neighborFloor.entrances()) {
+                        if (neighborEntrance.neighborFloors.contains(floor)) {
+                            connect(floor, from, neighborEntrance.getAbstractBlock());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void connect(Floor floor, WalkableBlock from, WalkableBlock to) {
+        if (to == null || to == from) {
+            return;
+        }
+        if (to.hasNeighbor(from)) {
+            boolean straight = Math.abs(from.x() - to.x()) + Math.abs(from.z() - to.z()) == 1;
+            floor.navGraphChunk.edgeChunks.add(to.floor.navGraphChunk);
+            floor.addAbstractEdge(from, new AbstractEdge(to, straight ? 1 : BitMap.SQRT_2, null));
+            return;
+        }
+        if (localAStar == null) {
+            localAStar = new HAStar(null, false);
+        }
+        localAStar.reset();
+        if (localAStar.run(from, to)) {
+            Path path = localAStar.getPath();
+            floor.navGraphChunk.edgeChunks.add(to.floor.navGraphChunk);
+            for (WalkableBlock block : path) {
+                floor.navGraphChunk.edgeChunks.add(block.floor.navGraphChunk);
+            }
+            floor.addAbstractEdge(from, new AbstractEdge(to, path.size(), path));
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 public class BitMap {
     public static final int KERNEL_SIZE = 3;
     public static final float SQRT_2 = (float) Math.sqrt(2);
+    public static final int MAX_SUCCESSORS = 8;
     BitSet map;
 
     public BitMap() {
@@ -40,34 +41,64 @@ public class BitMap {
         return isPassable(offset(x, y));
     }
 
+    /**
+     * Adds the passable neighbors of the given node to a list. Boxes every successor and allocates a buffer per call,
+     * searches use {@link #getSuccessors(int, int[])} instead.
+     *
+     * @deprecated use {@link #getSuccessors(int, int[])}
+     */
+    @Deprecated
     public void getSuccessors(int offset, List<Integer> successors) {
+        int[] buffer = new int[MAX_SUCCESSORS];
+        int count = getSuccessors(offset, buffer);
+        for (int i = 0; i < count; i++) {
+            successors.add(buffer[i]);
+        }
+    }
+
+    /**
+     * Writes the passable neighbors of the given node into a caller supplied buffer, so searches can enumerate
+     * successors without boxing.
+     *
+     * @param offset     the node to find successors for
+     * @param successors buffer receiving the successor offsets, at least {@link #MAX_SUCCESSORS} long
+     * @return the number of successors written to the buffer
+     */
+    public int getSuccessors(int offset, int[] successors) {
         int x = getX(offset);
         int y = getY(offset);
-        if (y > 0 && isPassable(offset - getWidth())) {
-            successors.add(offset - getWidth());
+        int width = getWidth();
+        boolean left = x > 0;
+        boolean right = x < width - 1;
+        boolean up = y > 0;
+        boolean down = y < getHeight() - 1;
+        int count = 0;
+        if (up && isPassable(offset - width)) {
+            successors[count++] = offset - width;
         }
-        if (x < getWidth() - 1 && isPassable(offset + 1)) {
-            successors.add(offset + 1);
+        if (right && isPassable(offset + 1)) {
+            successors[count++] = offset + 1;
         }
-        if (y < getHeight() - 1 && isPassable(offset + getWidth())) {
-            successors.add(offset + getWidth());
+        if (down && isPassable(offset + width)) {
+            successors[count++] = offset + width;
         }
-        if (x > 0 && isPassable(offset - 1)) {
-            successors.add(offset - 1);
+        if (left && isPassable(offset - 1)) {
+            successors[count++] = offset - 1;
         }
 
-        if (x < getWidth() - 1 && y > 0 && isPassable(offset + 1 - getWidth())) {
-            successors.add(offset + 1 - getWidth());
+        if (right && up && isPassable(offset + 1 - width)) {
+            successors[count++] = offset + 1 - width;
         }
-        if (x < getWidth() - 1 && y < getHeight() - 1 && isPassable(offset + 1 + getWidth())) {
-            successors.add(offset + 1 + getWidth());
+        if (right && down && isPassable(offset + 1 + width)) {
+            successors[count++] = offset + 1 + width;
         }
-        if (x > 0 && y < getHeight() - 1 && isPassable(offset - 1 + getWidth())) {
-            successors.add(offset - 1 + getWidth());
+        if (left && down && isPassable(offset - 1 + width)) {
+            successors[count++] = offset - 1 + width;
         }
-        if (x > 0 && y > 0 && isPassable(offset - 1 - getWidth())) {
-            successors.add(offset - 1 - getWidth());
+        if (left && up && isPassable(offset - 1 - width)) {
+            successors[count++] = offset - 1 - width;
         }
+        return count;
     }
 
     public boolean overlap(BitMap other) {
@@ -135,6 +166,15 @@ public class BitMap {
 
     }
 
+    /**
+     * Exact distance on an empty 8-connected grid, using 1 for straight and {@link #SQRT_2} for diagonal steps.
+     */
+    public float octileDistance(int from, int to) {
+        int dx = Math.abs(getX(from) - getX(to));
+        int dy = Math.abs(getY(from) - getY(to));
+        return Math.abs(dx - dy) + SQRT_2 * Math.min(dx, dy);
+    }
+
     public int getY(int id) {
         return id / getWidth();
     }
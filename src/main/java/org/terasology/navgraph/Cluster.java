@@ -0,0 +1,167 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.pathfinding.model.FloatKeyedHeap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Square of {@link #SIZE} x {@link #SIZE} chunks, the level of the navigation graph above the chunks.
+ * <p/>
+ * The border blocks of a cluster are the abstract blocks of its entrances, that have an abstract edge leaving the
+ * cluster. Each border block is connected to all other border blocks of the cluster it can reach, with the cost of
+ * the shortest route over the abstract edges of the floors inside the cluster. These edges have no path and need to
+ * be refined. Edges leaving the cluster are the abstract edges of the floors themselves.
+ */
+public class Cluster {
+    public static final int SIZE = 4;
+
+    private final Vector3i position;
+    private final List<WalkableBlock> borderBlocks = Lists.newArrayList();
+    private final Map<WalkableBlock, List<AbstractEdge>> edges = Maps.newHashMap();
+
+    /**
+     * @param position the cluster position, chunk x and z divided by {@link #SIZE}, chunk y
+     */
+    public Cluster(Vector3ic position) {
+        this.position = new Vector3i(position);
+    }
+
+    public static Vector3i getClusterPosition(NavGraphChunk chunk, Vector3i dest) {
+        return dest.set(
+                Math.floorDiv(chunk.worldPos.x / NavGraphChunk.SIZE_X, SIZE),
+                chunk.worldPos.y / NavGraphChunk.SIZE_Y,
+                Math.floorDiv(chunk.worldPos.z / NavGraphChunk.SIZE_Z, SIZE));
+    }
+
+    public Vector3ic getPosition() {
+        return position;
+    }
+
+    public boolean contains(WalkableBlock block) {
+        return contains(block.floor.navGraphChunk);
+    }
+
+    public boolean contains(NavGraphChunk chunk) {
+        return Math.floorDiv(chunk.worldPos.x / NavGraphChunk.SIZE_X, SIZE) == position.x
+                && chunk.worldPos.y / NavGraphChunk.SIZE_Y == position.y
+                && Math.floorDiv(chunk.worldPos.z / NavGraphChunk.SIZE_Z, SIZE) == position.z;
+    }
+
+    public List<WalkableBlock> getBorderBlocks() {
+        return borderBlocks;
+    }
+
+    /**
+     * @return the edges starting at the given block or null, if it is not a border block of this cluster
+     */
+    public List<AbstractEdge> getEdges(WalkableBlock block) {
+        return edges.get(block);
+    }
+
+    /**
+     * Finds the border blocks and computes the edges between them.
+     *
+     * @param chunks the loaded chunks by chunk position
+     */
+    public void build(Map<Vector3i, NavGraphChunk> chunks) {
+        borderBlocks.clear();
+        edges.clear();
+        Vector3i chunkPos = new Vector3i();
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                chunkPos.set(position.x * SIZE + x, position.y, position.z * SIZE + z);
+                NavGraphChunk chunk = chunks.get(chunkPos);
+                if (chunk != null) {
+                    findBorderBlocks(chunk);
+                }
+            }
+        }
+        for (WalkableBlock borderBlock : borderBlocks) {
+            Map<WalkableBlock, Float> seeds = Maps.newHashMap();
+            seeds.put(borderBlock, 0f);
+            for (Map.Entry<WalkableBlock, Float> entry : findBorderCosts(seeds).entrySet()) {
+                if (entry.getKey() != borderBlock) {
+                    edges.get(borderBlock).add(new AbstractEdge(entry.getKey(), entry.getValue(), null));
+                }
+            }
+        }
+    }
+
+    private void findBorderBlocks(NavGraphChunk chunk) {
+        for (Floor floor : chunk.floors) {
+            for (Entrance entrance : floor.entrances()) {
+                WalkableBlock block = entrance.getAbstractBlock();
+                List<AbstractEdge> abstractEdges = block != null ? floor.getAbstractEdges(block) : null;
+                if (abstractEdges == null || edges.containsKey(block)) {
+                    continue;
+                }
+                List<AbstractEdge> leaving = Lists.newArrayList();
+                for (AbstractEdge edge : abstractEdges) {
+                    if (!contains(edge.target)) {
+                        leaving.add(edge);
+                    }
+                }
+                if (!leaving.isEmpty()) {
+                    borderBlocks.add(block);
+                    edges.put(block, leaving);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs Dijkstra over the abstract edges inside this cluster.
+     *
+     * @param seeds abstract blocks inside this cluster and their initial costs
+     * @return the costs of the reached border blocks
+     */
+    public Map<WalkableBlock, Float> findBorderCosts(Map<WalkableBlock, Float> seeds) {
+        Map<WalkableBlock, Integer> ids = Maps.newHashMap();
+        List<WalkableBlock> blocks = Lists.newArrayList();
+        List<Float> costs = Lists.newArrayList();
+        FloatKeyedHeap openList = new FloatKeyedHeap();
+        for (Map.Entry<WalkableBlock, Float> seed : seeds.entrySet()) {
+            ids.put(seed.getKey(), blocks.size());
+            openList.insert(blocks.size(), seed.getValue());
+            blocks.add(seed.getKey());
+            costs.add(seed.getValue());
+        }
+
+        Map<WalkableBlock, Float> result = Maps.newHashMap();
+        while (!openList.isEmpty()) {
+            float cost = openList.getMinKey();
+            WalkableBlock block = blocks.get(openList.removeMin());
+            if (edges.containsKey(block)) {
+                result.put(block, cost);
+            }
+            List<AbstractEdge> abstractEdges = block.floor.getAbstractEdges(block);
+            if (abstractEdges == null) {
+                continue;
+            }
+            for (AbstractEdge edge : abstractEdges) {
+                if (!contains(edge.target)) {
+                    continue;
+                }
+                float newCost = cost + edge.cost;
+                Integer id = ids.get(edge.target);
+                if (id == null) {
+                    ids.put(edge.target, blocks.size());
+                    openList.insert(blocks.size(), newCost);
+                    blocks.add(edge.target);
+                    costs.add(newCost);
+                } else if (newCost < costs.get(id) && openList.contains(id)) {
+                    costs.set(id, newCost);
+                    openList.update(id, newCost);
+                }
+            }
+        }
+        return result;
+    }
+}
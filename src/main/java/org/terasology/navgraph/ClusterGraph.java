@@ -0,0 +1,73 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The clusters of the loaded chunks. Clusters are built on first access and dropped, when one of their chunks or a
+ * chunk next to them changes. Searches on several threads share the graph, so access is synchronized.
+ */
+public class ClusterGraph {
+    private final Map<Vector3i, NavGraphChunk> chunks;
+    private final Map<Vector3i, Cluster> clusters = Maps.newHashMap();
+
+    /**
+     * @param chunks the loaded chunks by chunk position, not copied
+     */
+    public ClusterGraph(Map<Vector3i, NavGraphChunk> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Drops the clusters affected by an update of the given chunk. The abstract edges of the neighbor chunks change as
+     * well, so their clusters are dropped, too.
+     */
+    public synchronized void invalidate(Vector3ic chunkPos) {
+        invalidate(chunkPos.x(), chunkPos.y(), chunkPos.z());
+        invalidate(chunkPos.x() - 1, chunkPos.y(), chunkPos.z());
+        invalidate(chunkPos.x() + 1, chunkPos.y(), chunkPos.z());
+        invalidate(chunkPos.x(), chunkPos.y(), chunkPos.z() - 1);
+        invalidate(chunkPos.x(), chunkPos.y(), chunkPos.z() + 1);
+    }
+
+    /**
+     * Like {@link #invalidate(Vector3ic)}, but also drops the clusters of the given dependents. Abstract edges may
+     * lead through any chunk, so the edges of chunks far from the updated one may change as well.
+     *
+     * @param dependents the chunks, whose abstract edges were refreshed by the update
+     */
+    public synchronized void invalidate(Vector3ic chunkPos, Collection<NavGraphChunk> dependents) {
+        invalidate(chunkPos);
+        for (NavGraphChunk dependent : dependents) {
+            clusters.remove(Cluster.getClusterPosition(dependent, new Vector3i()));
+        }
+    }
+
+    private void invalidate(int chunkX, int chunkY, int chunkZ) {
+        clusters.remove(new Vector3i(Math.floorDiv(chunkX, Cluster.SIZE), chunkY, Math.floorDiv(chunkZ, Cluster.SIZE)));
+    }
+
+    public synchronized void clear() {
+        clusters.clear();
+    }
+
+    public Cluster getCluster(WalkableBlock block) {
+        return getCluster(Cluster.getClusterPosition(block.floor.navGraphChunk, new Vector3i()));
+    }
+
+    public synchronized Cluster getCluster(Vector3ic position) {
+        Cluster cluster = clusters.get(position);
+        if (cluster == null) {
+            cluster = new Cluster(position);
+            cluster.build(chunks);
+            clusters.put(new Vector3i(position), cluster);
+        }
+        return cluster;
+    }
+}
@@ -3,11 +3,13 @@
 package org.terasology.navgraph;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.joml.Vector3i;
 import org.terasology.engine.world.chunks.Chunks;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author synopia
@@ -16,6 +18,7 @@ public class Floor extends BaseRegion<Floor> {
     public NavGraphChunk navGraphChunk;
     private Entrance[] entranceMap;
     private List<Entrance> entrances;
+    private Map<WalkableBlock, List<AbstractEdge>> abstractEdges = Maps.newHashMap();
 
     /**
      * Creates a new Floor object.
@@ -75,6 +78,32 @@ public class Floor extends BaseRegion<Floor> {
     public void resetEntrances() {
         Arrays.fill(entranceMap, null);
         entrances.clear();
+        abstractEdges.clear();
+    }
+
+    /**
+     * Removes all abstract edges, that start at the entrances of this floor.
+     */
+    public void clearAbstractEdges() {
+        abstractEdges.clear();
+    }
+
+    /**
+     * Adds an abstract edge starting at the abstract block of an entrance of this floor.
+     * @param from the abstract block of the entrance
+     * @param edge the edge
+     */
+    public void addAbstractEdge(WalkableBlock from, AbstractEdge edge) {
+        abstractEdges.computeIfAbsent(from, block -> Lists.newArrayList()).add(edge);
+    }
+
+    /**
+     * Returns the abstract edges starting at a block.
+     * @param block the block
+     * @return the edges or null, if the block is not the abstract block of an entrance of this floor
+     */
+    public List<AbstractEdge> getAbstractEdges(WalkableBlock block) {
+        return abstractEdges.get(block);
     }
 
     /**
@@ -87,6 +116,17 @@ public class Floor extends BaseRegion<Floor> {
         return isEntrance(position.x, position.z);
     }
 
+    /**
+     * Returns the entrance a block is part of.
+     * @param block a block of this floor
+     * @return the entrance or null, if the block is not part of an entrance
+     */
+    public Entrance getEntrance(WalkableBlock block) {
+        int x = block.x() - navGraphChunk.worldPos.x;
+        int z = block.z() - navGraphChunk.worldPos.z;
+        return entranceMap[x + z * NavGraphChunk.SIZE_Z];
+    }
+
     /**
      * Returns whether or not entranceMap[x + y * NavGraphChunk.SIZE_Z] is an entrance.
      * @param x the x location in entranceMap
@@ -165,7 +205,8 @@ public class Floor extends BaseRegion<Floor> {
      */
     WalkableBlock getBlock(int fx, int fy) {
         NavGraphCell cell = navGraphChunk.getCell(fx, fy);
-        for (WalkableBlock block : cell.blocks) {
+        for (int i = 0; i < cell.blocks.size(); i++) {
+            WalkableBlock block = cell.blocks.get(i);
             if (block.floor == this) {
                 return block;
             }
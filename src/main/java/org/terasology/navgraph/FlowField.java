@@ -0,0 +1,174 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.pathfinding.model.FloatKeyedHeap;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distances to one target and the next step towards it, for all walkable blocks of the chunks around the target.
+ * <p/>
+ * Computed once by a Dijkstra search from the target, afterwards any number of agents read their next step in
+ * constant time. A field is immutable, when the chunks change it is invalidated and replaced by a new one, see
+ * {@link FlowFieldCache}.
+ */
+public class FlowField {
+    private static final byte NO_DIRECTION = -1;
+
+    private final Vector3i target;
+    private final Vector3i centerChunk;
+    private final int radius;
+    private final Map<NavGraphChunk, ChunkField> chunkFields = Maps.newIdentityHashMap();
+    private volatile boolean valid = true;
+
+    /**
+     * @param target the target block position
+     * @param radius number of chunks around the chunk of the target, that are covered by the field
+     */
+    public FlowField(Vector3ic target, int radius) {
+        this.target = new Vector3i(target);
+        this.centerChunk = Chunks.toChunkPos(target, new Vector3i());
+        this.radius = radius;
+    }
+
+    public Vector3ic getTarget() {
+        return target;
+    }
+
+    /**
+     * @return true, if the given chunk is covered by this field
+     */
+    public boolean covers(Vector3ic chunkPos) {
+        return chunkPos.y() == centerChunk.y
+                && Math.abs(chunkPos.x() - centerChunk.x) <= radius
+                && Math.abs(chunkPos.z() - centerChunk.z) <= radius;
+    }
+
+    /**
+     * @return false, once one of the covered chunks changed
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * @return the costs of the shortest path to the target or {@link Float#POSITIVE_INFINITY}, if the block is not
+     * covered or cannot reach the target
+     */
+    public float getDistance(WalkableBlock block) {
+        ChunkField chunkField = chunkFields.get(block.floor.navGraphChunk);
+        if (chunkField == null) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return chunkField.distances[block.id];
+    }
+
+    /**
+     * @return the neighbor of the block, that is the next step towards the target, or null, if the block is the target
+     * or cannot reach it
+     */
+    public WalkableBlock getNext(WalkableBlock block) {
+        ChunkField chunkField = chunkFields.get(block.floor.navGraphChunk);
+        if (chunkField == null) {
+            return null;
+        }
+        byte direction = chunkField.directions[block.id];
+        return direction != NO_DIRECTION ? block.neighbors[direction] : null;
+    }
+
+    /**
+     * Runs the search from the target over the covered chunks.
+     *
+     * @param chunks the loaded chunks by chunk position
+     * @return false, if the target is not walkable
+     */
+    public boolean compute(Map<Vector3i, NavGraphChunk> chunks) {
+        NavGraphChunk targetChunk = chunks.get(centerChunk);
+        WalkableBlock targetBlock = targetChunk != null ? targetChunk.getBlock(target.x, target.y, target.z) : null;
+        if (targetBlock == null) {
+            return false;
+        }
+        List<WalkableBlock> blocks = Lists.newArrayList();
+        Vector3i chunkPos = new Vector3i();
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                chunkPos.set(centerChunk.x + x, centerChunk.y, centerChunk.z + z);
+                NavGraphChunk chunk = chunks.get(chunkPos);
+                if (chunk != null) {
+                    chunkFields.put(chunk, new ChunkField(blocks.size(), chunk.walkableBlocks.size()));
+                    blocks.addAll(chunk.walkableBlocks);
+                }
+            }
+        }
+
+        FloatKeyedHeap openList = new FloatKeyedHeap(blocks.size(), blocks.size());
+        ChunkField targetField = chunkFields.get(targetChunk);
+        targetField.distances[targetBlock.id] = 0;
+        openList.insert(targetField.offset + targetBlock.id, 0);
+        while (!openList.isEmpty()) {
+            float distance = openList.getMinKey();
+            WalkableBlock current = blocks.get(openList.removeMin());
+            for (int direction = 0; direction < current.neighbors.length; direction++) {
+                WalkableBlock neighbor = current.neighbors[direction];
+                ChunkField neighborField = neighbor != null ? chunkFields.get(neighbor.floor.navGraphChunk) : null;
+                if (neighborField == null) {
+                    continue;
+                }
+                // odd directions are diagonal
+                float newDistance = distance + (direction % 2 == 0 ? 1 : BitMap.SQRT_2);
+                if (newDistance < neighborField.distances[neighbor.id]) {
+                    neighborField.distances[neighbor.id] = newDistance;
+                    neighborField.directions[neighbor.id] = directionTo(neighbor, current);
+                    int id = neighborField.offset + neighbor.id;
+                    if (openList.contains(id)) {
+                        openList.update(id, newDistance);
+                    } else {
+                        openList.insert(id, newDistance);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static byte directionTo(WalkableBlock from, WalkableBlock to) {
+        for (byte direction = 0; direction < from.neighbors.length; direction++) {
+            if (from.neighbors[direction] == to) {
+                return direction;
+            }
+        }
+        return NO_DIRECTION;
+    }
+
+    /**
+     * The field of one chunk, indexed by {@link WalkableBlock#id}.
+     */
+    private static final class ChunkField {
+        /**
+         * Id of the first block of the chunk in the open list.
+         */
+        private final int offset;
+        private final float[] distances;
+        private final byte[] directions;
+
+        private ChunkField(int offset, int size) {
+            this.offset = offset;
+            distances = new float[size];
+            directions = new byte[size];
+            Arrays.fill(distances, Float.POSITIVE_INFINITY);
+            Arrays.fill(directions, NO_DIRECTION);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The flow fields of popular targets. Fields are computed on first access and dropped, when one of their chunks or a
+ * chunk next to them changes. If more than the capacity of fields are requested, the least recently used one is
+ * dropped.
+ */
+public class FlowFieldCache {
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final int DEFAULT_RADIUS = 2;
+
+    private final Map<Vector3i, NavGraphChunk> chunks;
+    private final int radius;
+    private final Map<Vector3i, FlowField> fields;
+
+    /**
+     * @param chunks the loaded chunks by chunk position, not copied
+     */
+    public FlowFieldCache(Map<Vector3i, NavGraphChunk> chunks) {
+        this(chunks, DEFAULT_CAPACITY, DEFAULT_RADIUS);
+    }
+
+    /**
+     * @param chunks   the loaded chunks by chunk position, not copied
+     * @param capacity the maximum number of fields kept
+     * @param radius   number of chunks around the chunk of a target, that are covered by its field
+     */
+    public FlowFieldCache(Map<Vector3i, NavGraphChunk> chunks, final int capacity, int radius) {
+        this.chunks = chunks;
+        this.radius = radius;
+        this.fields = new LinkedHashMap<Vector3i, FlowField>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Vector3i, FlowField> eldest) {
+                if (size() > capacity) {
+                    eldest.getValue().invalidate();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Drops the fields affected by an update of the given chunk. The walkable blocks of the neighbor chunks are
+     * reconnected, so fields covering a neighbor are dropped, too.
+     */
+    public synchronized void invalidate(Vector3ic chunkPos) {
+        Vector3i neighborPos = new Vector3i();
+        Iterator<FlowField> it = fields.values().iterator();
+        while (it.hasNext()) {
+            FlowField field = it.next();
+            if (field.covers(chunkPos)
+                    || field.covers(neighborPos.set(chunkPos).add(-1, 0, 0))
+                    || field.covers(neighborPos.set(chunkPos).add(1, 0, 0))
+                    || field.covers(neighborPos.set(chunkPos).add(0, 0, -1))
+                    || field.covers(neighborPos.set(chunkPos).add(0, 0, 1))) {
+                field.invalidate();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Like {@link #invalidate(Vector3ic)}, but also drops the fields covering one of the given dependents, so no
+     * field outlives a change to the graph of a chunk it covers.
+     *
+     * @param dependents the chunks, whose abstract edges were refreshed by the update
+     */
+    public synchronized void invalidate(Vector3ic chunkPos, Collection<NavGraphChunk> dependents) {
+        invalidate(chunkPos);
+        Vector3i dependentPos = new Vector3i();
+        for (NavGraphChunk dependent : dependents) {
+            Chunks.toChunkPos(dependent.worldPos, dependentPos);
+            Iterator<FlowField> it = fields.values().iterator();
+            while (it.hasNext()) {
+                FlowField field = it.next();
+                if (field.covers(dependentPos)) {
+                    field.invalidate();
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        for (FlowField field : fields.values()) {
+            field.invalidate();
+        }
+        fields.clear();
+    }
+
+    /**
+     * @return the field leading to the given target, or null, if the target is not walkable
+     */
+    public synchronized FlowField getFlowField(Vector3ic target) {
+        FlowField field = fields.get(target);
+        if (field == null) {
+            field = new FlowField(target, radius);
+            if (!field.compute(chunks)) {
+                return null;
+            }
+            fields.put(new Vector3i(target), field);
+        }
+        return field;
+    }
+
+    public synchronized int size() {
+        return fields.size();
+    }
+}
@@ -8,6 +8,7 @@ import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.pathfinding.model.PathCache;
 import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.chunks.ChunkProvider;
 import org.terasology.engine.world.chunks.Chunks;
 
 import java.util.List;
@@ -29,6 +30,10 @@ public class NavGraphChunk {
     public static final int DIR_RD = 5;
     public static final int DIR_DOWN = 6;
     public static final int DIR_LD = 7;
+    private static final int HANDLE_MASK = (1 << 20) - 1;
+    private static final long HANDLE_BLOCK_MASK = (1L << 24) - 1;
+    private static final int HANDLE_INDEX_SHIFT = 24;
+    private static final int HANDLE_GENERATION_SHIFT = 44;
     static final int[][] DIRECTIONS = new int[][]{
             {-1, 0}, {-1, -1}, {0, -1}, {1, -1}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}
     };
@@ -39,12 +44,39 @@ public class NavGraphChunk {
 
     public Vector3i worldPos;
     public PathCache pathCache = new PathCache();
+    /**
+     * The chunks of the blocks of the abstract edges of this chunk.
+     */
+    /* package protected */ final Set<NavGraphChunk> edgeChunks = Sets.newIdentityHashSet();
+    /**
+     * Dense index of this chunk, assigned by the {@link NavGraphSystem} while the chunk is loaded, -1 otherwise.
+     */
+    public int index = -1;
+    /**
+     * Number of chunks, that held the {@link #index} before this one, so handles of blocks of those chunks are told
+     * apart from handles of this chunk.
+     */
+    public int generation;
+    /**
+     * The count of chunk updates of the {@link NavGraphSystem}, after the last update, that changed this chunk: the one,
+     * that built it, or one, that reconnected it to a rebuilt neighbor or refreshed its abstract edges.
+     */
+    public int lastChange;
 
     /* package protected */ NavGraphCell[] cells = new NavGraphCell[SIZE_X * SIZE_Z];
     private WorldProvider world;
+    private ChunkProvider chunkProvider;
 
     public NavGraphChunk(WorldProvider world, Vector3ic chunkPos) {
+        this(world, null, chunkPos);
+    }
+
+    /**
+     * @param chunkProvider the loaded chunks, whose blocks are read in bulk on {@link #update()}, may be null
+     */
+    public NavGraphChunk(WorldProvider world, ChunkProvider chunkProvider, Vector3ic chunkPos) {
         this.world = world;
+        this.chunkProvider = chunkProvider;
         this.worldPos = new Vector3i(chunkPos);
         worldPos.mul(SIZE_X, SIZE_Y, SIZE_Z);
         for (int i = 0; i < cells.length; i++) {
@@ -53,7 +85,7 @@ public class NavGraphChunk {
     }
 
     public void update() {
-        new WalkableBlockFinder(world).findWalkableBlocks(this);
+        new WalkableBlockFinder(world, chunkProvider).findWalkableBlocks(this);
         new FloorFinder().findFloors(this);
     }
 
@@ -102,6 +134,44 @@ public class NavGraphChunk {
             down.findContour();
             down.pathCache.clear();
         }
+        findAbstractEdges(this, left, up, right, down);
+    }
+
+    /**
+     * @return true, if this chunk was replaced by a rebuild and its blocks are no longer part of the graph
+     */
+    public boolean isOutdated() {
+        return cells == null;
+    }
+
+    /**
+     * Local paths are not restricted to their chunk, they may cross other chunks, too.
+     *
+     * @return true, if a local path or an abstract edge of this chunk holds blocks of the given chunk
+     */
+    public boolean dependsOn(NavGraphChunk chunk) {
+        return chunk != this && (pathCache.crosses(chunk) || edgeChunks.contains(chunk));
+    }
+
+    /**
+     * Drops the local paths and recomputes the abstract edges, after a chunk they depend on was rebuilt.
+     */
+    public void refreshAbstractEdges() {
+        pathCache.clear();
+        findAbstractEdges(this);
+    }
+
+    /**
+     * Recomputes the abstract edges of the given chunks. Must be called after the contours of all of them are
+     * up to date, because edges lead to the entrances of neighbor chunks.
+     */
+    private static void findAbstractEdges(NavGraphChunk... chunks) {
+        AbstractEdgeFinder finder = new AbstractEdgeFinder();
+        for (NavGraphChunk chunk : chunks) {
+            if (chunk != null) {
+                finder.findEdges(chunk);
+            }
+        }
     }
 
     public void findContour() {
@@ -178,6 +248,7 @@ public class NavGraphChunk {
         if (down != null) {
             down.findContour();
         }
+        findAbstractEdges(left, up, right, down);
     }
 
     private void disconnectFromNeighbor(WalkableBlock block, int dx, int dz, NavGraphChunk neighbor, int neighborId) {
@@ -197,6 +268,27 @@ public class NavGraphChunk {
     }
 
 
+    /**
+     * A handle holds the generation of the chunk index in its upper, the chunk index in its middle and the block id in
+     * its lower bits. Generations wrap around, after an index was reused 2^20 times.
+     */
+    public static long toHandle(int chunkIndex, int generation, int blockId) {
+        return ((long) (generation & HANDLE_MASK) << HANDLE_GENERATION_SHIFT)
+                | ((long) (chunkIndex & HANDLE_MASK) << HANDLE_INDEX_SHIFT) | (blockId & HANDLE_BLOCK_MASK);
+    }
+
+    public static int getChunkIndex(long handle) {
+        return (int) (handle >>> HANDLE_INDEX_SHIFT) & HANDLE_MASK;
+    }
+
+    public static int getGeneration(long handle) {
+        return (int) (handle >>> HANDLE_GENERATION_SHIFT) & HANDLE_MASK;
+    }
+
+    public static int getBlockId(long handle) {
+        return (int) (handle & HANDLE_BLOCK_MASK);
+    }
+
     public NavGraphCell getCell(int x, int z) {
         return cells[x + z * SIZE_Z];
     }
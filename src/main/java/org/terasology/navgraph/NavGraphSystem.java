@@ -21,12 +21,25 @@ import org.terasology.engine.world.WorldChangeListener;
 import org.terasology.engine.world.WorldComponent;
 import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.ChunkProvider;
 import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.chunks.event.OnChunkLoaded;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.pathfinding.model.BoundedPathCache;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @RegisterSystem
 @Share(value = NavGraphSystem.class)
@@ -36,13 +49,32 @@ public class NavGraphSystem extends BaseComponentSystem implements UpdateSubscri
     @In
     private WorldProvider world;
     @In
+    private ChunkProvider chunkProvider;
+    @In
     private EntityManager entityManager;
 
-    private Map<Vector3i, NavGraphChunk> heightMaps = new HashMap<>();
+    private Map<Vector3i, NavGraphChunk> heightMaps = new ConcurrentHashMap<>();
+    private List<NavGraphChunk> chunksByIndex = new ArrayList<>();
+    private Deque<Integer> freeChunkIndices = new ArrayDeque<>();
+    /**
+     * Generation of the next chunk to get each index, so handles of released chunks are not resolved to new ones.
+     */
+    private List<Integer> indexGenerations = new ArrayList<>();
+    private ClusterGraph clusterGraph = new ClusterGraph(heightMaps);
+    private FlowFieldCache flowFields = new FlowFieldCache(heightMaps);
+    private BoundedPathCache pathCache = new BoundedPathCache();
     private TaskMaster<NavGraphTask> taskMaster = TaskMaster.createPriorityTaskMaster("Pathfinder", 1, 1024);
+    /**
+     * Fair, so a waiting chunk update is not starved by searches.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock(true);
     private boolean dirty;
     private float coolDown = EVENT_COOLDOWN;
-    private int chunkUpdates;
+    private volatile int chunkUpdates;
+    /**
+     * Futures of chunks, that are waited for, but not built yet, guarded by itself.
+     */
+    private final Map<Vector3i, CompletableFuture<Void>> pendingChunks = new HashMap<>();
 
     private Map<Vector3i, NavGraphChunk> maps = new HashMap<>();
 
@@ -85,6 +117,33 @@ public class NavGraphSystem extends BaseComponentSystem implements UpdateSubscri
         }
     }
 
+    /**
+     * Resolves a handle returned by {@link WalkableBlock#getHandle()}. Handles become invalid, once the chunk of their
+     * block is updated, even if the index of the chunk is reused by the new chunk.
+     *
+     * @return the block or null, if the chunk of the handle is not loaded anymore
+     */
+    public WalkableBlock getBlock(long handle) {
+        int chunkIndex = NavGraphChunk.getChunkIndex(handle);
+        int blockId = NavGraphChunk.getBlockId(handle);
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            if (chunkIndex >= chunksByIndex.size()) {
+                return null;
+            }
+            NavGraphChunk navGraphChunk = chunksByIndex.get(chunkIndex);
+            if (navGraphChunk == null || blockId >= navGraphChunk.walkableBlocks.size()) {
+                return null;
+            }
+            WalkableBlock block = navGraphChunk.walkableBlocks.get(blockId);
+            // the handle of a block of a released chunk differs in its generation
+            return block.getHandle() == handle ? block : null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     public WalkableBlock getBlock(EntityRef minion) {
         Vector3f pos = minion.getComponent(LocationComponent.class).getWorldPosition(new Vector3f());
         return getBlock(pos);
@@ -102,28 +161,153 @@ public class NavGraphSystem extends BaseComponentSystem implements UpdateSubscri
         return block;
     }
 
-    public void offer(NavGraphTask task) {
-        taskMaster.offer(task);
+    /**
+     * @return false, if the task was rejected
+     */
+    public boolean offer(NavGraphTask task) {
+        return taskMaster.offer(task);
     }
 
+    /**
+     * Counted while holding the write lock, so a reader holding the read lock sees a count, that matches the graph.
+     * The chunks changed by an update are stamped with the count, see {@link NavGraphChunk#lastChange}.
+     *
+     * @return the number of chunk updates so far
+     */
     public int getChunkUpdates() {
         return chunkUpdates;
     }
 
+    /**
+     * Chunk updates build the new chunk first and hold the write lock only, while they swap it in. Searches running
+     * outside the thread of the chunk updates hold the read lock, so they never see a half updated graph.
+     */
+    public ReadWriteLock getLock() {
+        return lock;
+    }
+
+    public ClusterGraph getClusterGraph() {
+        return clusterGraph;
+    }
+
+    public FlowFieldCache getFlowFields() {
+        return flowFields;
+    }
+
+    /**
+     * @return the paths found by the pathfinders, dropped when a chunk they cross is rebuilt
+     */
+    public BoundedPathCache getPathCache() {
+        return pathCache;
+    }
+
+    /**
+     * The future completes, once the chunk is built, so requests may wait for a chunk without holding a thread. It is
+     * completed by the thread of the chunk updates, so dependent stages, that take longer, should run asynchronously.
+     *
+     * @return a future completed, once the chunk at the given position was built at least once
+     */
+    public CompletableFuture<Void> whenChunkBuilt(Vector3ic chunkPos) {
+        Vector3i pos = new Vector3i(chunkPos);
+        synchronized (pendingChunks) {
+            if (heightMaps.containsKey(pos)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return pendingChunks.computeIfAbsent(pos, k -> new CompletableFuture<>());
+        }
+    }
+
     public NavGraphChunk updateChunk(Vector3i chunkPos) {
         if (chunkPos == null) {
             return null;
         }
-        NavGraphChunk navGraphChunk = heightMaps.remove(chunkPos);
-        if (navGraphChunk != null) {
-            navGraphChunk.disconnectNeighborMaps(getNeighbor(chunkPos, -1, 0), getNeighbor(chunkPos, 0, -1), getNeighbor(chunkPos, 1, 0), getNeighbor(chunkPos, 0, 1));
-            navGraphChunk.cells = null;
-        }
-        navGraphChunk = new NavGraphChunk(world, chunkPos);
+        // the blocks and floors of a chunk are found from the world alone, so searches go on meanwhile
+        NavGraphChunk navGraphChunk = new NavGraphChunk(world, chunkProvider, chunkPos);
         navGraphChunk.update();
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            chunkUpdates++;
+            replaceChunk(chunkPos, navGraphChunk);
+        } finally {
+            writeLock.unlock();
+        }
+        CompletableFuture<Void> pending;
+        synchronized (pendingChunks) {
+            pending = pendingChunks.remove(chunkPos);
+        }
+        if (pending != null) {
+            pending.complete(null);
+        }
+        return navGraphChunk;
+    }
+
+    /**
+     * Swaps in a chunk built by {@link NavGraphChunk#update()}, connects it to its neighbors and drops everything,
+     * that depends on the old chunk. Must hold the write lock.
+     */
+    private void replaceChunk(Vector3i chunkPos, NavGraphChunk navGraphChunk) {
+        NavGraphChunk outdated = heightMaps.remove(chunkPos);
+        if (outdated != null) {
+            outdated.disconnectNeighborMaps(getNeighbor(chunkPos, -1, 0), getNeighbor(chunkPos, 0, -1), getNeighbor(chunkPos, 1, 0), getNeighbor(chunkPos, 0, 1));
+            outdated.cells = null;
+            releaseIndex(outdated);
+        }
+        assignIndex(navGraphChunk);
         heightMaps.put(chunkPos, navGraphChunk);
         navGraphChunk.connectNeighborMaps(getNeighbor(chunkPos, -1, 0), getNeighbor(chunkPos, 0, -1), getNeighbor(chunkPos, 1, 0), getNeighbor(chunkPos, 0, 1));
-        return navGraphChunk;
+        List<NavGraphChunk> dependents = outdated != null ? refreshDependents(outdated) : Collections.emptyList();
+        navGraphChunk.lastChange = chunkUpdates;
+        markChanged(Arrays.asList(getNeighbor(chunkPos, -1, 0), getNeighbor(chunkPos, 0, -1),
+                getNeighbor(chunkPos, 1, 0), getNeighbor(chunkPos, 0, 1)));
+        markChanged(dependents);
+        clusterGraph.invalidate(chunkPos, dependents);
+        flowFields.invalidate(chunkPos, dependents);
+        pathCache.invalidate(chunkPos);
+    }
+
+    /**
+     * Local paths and abstract edges are not restricted to their chunk and its neighbors, so any chunk may hold
+     * blocks of the rebuilt chunk.
+     *
+     * @return the chunks, whose abstract edges were refreshed
+     */
+    private List<NavGraphChunk> refreshDependents(NavGraphChunk outdated) {
+        List<NavGraphChunk> dependents = new ArrayList<>();
+        for (NavGraphChunk chunk : heightMaps.values()) {
+            if (chunk.dependsOn(outdated)) {
+                chunk.refreshAbstractEdges();
+                dependents.add(chunk);
+            }
+        }
+        return dependents;
+    }
+
+    private void markChanged(List<NavGraphChunk> chunks) {
+        for (NavGraphChunk chunk : chunks) {
+            if (chunk != null) {
+                chunk.lastChange = chunkUpdates;
+            }
+        }
+    }
+
+    private void assignIndex(NavGraphChunk navGraphChunk) {
+        if (freeChunkIndices.isEmpty()) {
+            navGraphChunk.index = chunksByIndex.size();
+            chunksByIndex.add(navGraphChunk);
+            indexGenerations.add(0);
+        } else {
+            navGraphChunk.index = freeChunkIndices.pop();
+            chunksByIndex.set(navGraphChunk.index, navGraphChunk);
+        }
+        navGraphChunk.generation = indexGenerations.get(navGraphChunk.index);
+    }
+
+    private void releaseIndex(NavGraphChunk navGraphChunk) {
+        chunksByIndex.set(navGraphChunk.index, null);
+        indexGenerations.set(navGraphChunk.index, navGraphChunk.generation + 1);
+        freeChunkIndices.push(navGraphChunk.index);
+        navGraphChunk.index = -1;
     }
 
     private NavGraphChunk getNeighbor(Vector3i chunkPos, int x, int z) {
@@ -194,7 +378,6 @@ public class NavGraphSystem extends BaseComponentSystem implements UpdateSubscri
 
         @Override
         public void run() {
-            chunkUpdates++;
             maps.remove(chunkPos);
             NavGraphChunk map = updateChunk(chunkPos);
             maps.put(chunkPos, map);
@@ -10,6 +10,10 @@ import org.joml.Vector3i;
 public class WalkableBlock {
     public WalkableBlock[] neighbors = new WalkableBlock[8];
     public Floor floor;
+    /**
+     * Dense id of this block within its chunk, the index in {@link NavGraphChunk#walkableBlocks}.
+     */
+    public int id;
     private Vector3i position;
 
     public WalkableBlock(int x, int z, int height) {
@@ -32,6 +36,14 @@ public class WalkableBlock {
         return position.y;
     }
 
+    /**
+     * @return a handle that identifies this block globally, resolved by {@link NavGraphSystem#getBlock(long)}
+     */
+    public long getHandle() {
+        NavGraphChunk navGraphChunk = floor.navGraphChunk;
+        return NavGraphChunk.toHandle(navGraphChunk.index, navGraphChunk.generation, id);
+    }
+
     @Override
     public String toString() {
         return position.toString();
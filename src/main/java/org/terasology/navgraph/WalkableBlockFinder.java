@@ -6,33 +6,60 @@ import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.BitSet;
 
 /**
+ * Finds the walkable blocks of a chunk and connects them.
+ * <p/>
+ * The penetrability of all blocks of the chunk is read once into a bit set, from the loaded chunk, if available.
+ * Finding the blocks and checking the head room of their connections reads the bit set instead of the world, only
+ * blocks above the chunk are looked up in the world.
+ *
  * @author synopia
  */
 public class WalkableBlockFinder {
+    private static final int VOLUME = NavGraphChunk.SIZE_X * NavGraphChunk.SIZE_Y * NavGraphChunk.SIZE_Z;
+
     private WorldProvider world;
+    private ChunkProvider chunkProvider;
+    /**
+     * Penetrable blocks of the current chunk, by {@link #index(int, int, int)}.
+     */
+    private final BitSet penetrable = new BitSet(VOLUME);
+    private Vector3ic worldPos;
 
     public WalkableBlockFinder(WorldProvider world) {
+        this(world, null);
+    }
+
+    /**
+     * @param chunkProvider the loaded chunks, whose blocks are read directly, null to look up each block in the world
+     */
+    public WalkableBlockFinder(WorldProvider world, ChunkProvider chunkProvider) {
         this.world = world;
+        this.chunkProvider = chunkProvider;
     }
 
     public void findWalkableBlocks(NavGraphChunk map) {
         int[] airMap = new int[NavGraphChunk.SIZE_X * NavGraphChunk.SIZE_Z];
-        Vector3i blockPos = new Vector3i();
         map.walkableBlocks.clear();
-        Vector3ic worldPos = map.worldPos;
+        worldPos = map.worldPos;
+        readBlocks();
         for (int y = NavGraphChunk.SIZE_Y - 1; y >= 0; y--) {
             for (int z = 0; z < NavGraphChunk.SIZE_Z; z++) {
                 for (int x = 0; x < NavGraphChunk.SIZE_X; x++) {
-                    blockPos.set(x + worldPos.x(), y + worldPos.y(), z + worldPos.z());
-                    Block block = world.getBlock(blockPos);
                     int offset = x + z * NavGraphChunk.SIZE_Z;
-                    if (block.isPenetrable()) {
+                    if (penetrable.get(index(x, y, z))) {
                         airMap[offset]++;
                     } else {
                         if (airMap[offset] >= 2) {
-                            WalkableBlock walkableBlock = new WalkableBlock(blockPos.x, blockPos.z, blockPos.y);
+                            WalkableBlock walkableBlock = new WalkableBlock(x + worldPos.x(), z + worldPos.z(),
+                                    y + worldPos.y());
+                            walkableBlock.id = map.walkableBlocks.size();
                             map.cells[offset].addBlock(walkableBlock);
                             map.walkableBlocks.add(walkableBlock);
                         }
@@ -45,6 +72,50 @@ public class WalkableBlockFinder {
         findNeighbors(map);
     }
 
+    /**
+     * Reads the penetrability of the blocks of the chunk at {@link #worldPos}. The chunk is looked up once, if it is not
+     * loaded, the blocks are looked up in the world.
+     */
+    private void readBlocks() {
+        penetrable.clear();
+        Chunk chunk = null;
+        if (chunkProvider != null) {
+            chunk = chunkProvider.getChunk(Chunks.toChunkPos(worldPos, new Vector3i()));
+        }
+        for (int y = 0; y < NavGraphChunk.SIZE_Y; y++) {
+            for (int z = 0; z < NavGraphChunk.SIZE_Z; z++) {
+                for (int x = 0; x < NavGraphChunk.SIZE_X; x++) {
+                    Block block = chunk != null ? chunk.getBlock(x, y, z)
+                            : world.getBlock(x + worldPos.x(), y + worldPos.y(), z + worldPos.z());
+                    if (block.isPenetrable()) {
+                        penetrable.set(index(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the index of a position relative to the chunk, x first, y last
+     */
+    private static int index(int x, int y, int z) {
+        return x + NavGraphChunk.SIZE_X * (z + NavGraphChunk.SIZE_Z * y);
+    }
+
+    /**
+     * @return true, if the block at the given world position is penetrable, read from the chunk, if inside
+     */
+    private boolean isPenetrable(int x, int y, int z) {
+        int rx = x - worldPos.x();
+        int ry = y - worldPos.y();
+        int rz = z - worldPos.z();
+        if (rx < 0 || ry < 0 || rz < 0 || rx >= NavGraphChunk.SIZE_X || ry >= NavGraphChunk.SIZE_Y
+                || rz >= NavGraphChunk.SIZE_Z) {
+            return world.getBlock(x, y, z).isPenetrable();
+        }
+        return penetrable.get(index(rx, ry, rz));
+    }
+
     private void findNeighbors(NavGraphChunk map) {
         map.borderBlocks.clear();
         for (int z = 0; z < NavGraphChunk.SIZE_Z; z++) {
@@ -84,18 +155,17 @@ public class WalkableBlockFinder {
             } else {
                 int dx = block.x() - neighborBlock.x();
                 int dz = block.z() - neighborBlock.z();
-                boolean free1 = world.getBlock(block.x() - dx, block.height() + 1, block.z()).isPenetrable();
-                free1 &= world.getBlock(block.x() - dx, block.height() + 2, block.z()).isPenetrable();
-                boolean free2 = world.getBlock(block.x(), block.height() + 1, block.z() - dz).isPenetrable();
-                free2 &= world.getBlock(block.x(), block.height() + 2, block.z() - dz).isPenetrable();
+                boolean free1 = isPenetrable(block.x() - dx, block.height() + 1, block.z());
+                free1 &= isPenetrable(block.x() - dx, block.height() + 2, block.z());
+                boolean free2 = isPenetrable(block.x(), block.height() + 1, block.z() - dz);
+                free2 &= isPenetrable(block.x(), block.height() + 2, block.z() - dz);
                 if (free1 && free2) {
                     block.neighbors[direction] = neighborBlock;
                 }
             }
         } else if (Math.abs(heightDiff) < 2 && !diagonal) {
             WalkableBlock lower = heightDiff < 0 ? block : neighborBlock;
-            Block jumpCheck = world.getBlock(lower.x(), lower.height() + 3, lower.z());
-            if (jumpCheck.isPenetrable()) {
+            if (isPenetrable(lower.x(), lower.height() + 3, lower.z())) {
                 block.neighbors[direction] = neighborBlock;
             }
         }
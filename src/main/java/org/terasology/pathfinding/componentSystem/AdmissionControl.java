@@ -0,0 +1,147 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.collect.Sets;
+
+import java.util.Set;
+
+/**
+ * Bounds the number of searches of the {@link PathfinderSystem}, that are waiting or running. While full, a new search
+ * is rejected or replaces a waiting search, depending on the {@link OverloadPolicy}.
+ * <p/>
+ * Also measures the time searches wait until their first slice.
+ */
+final class AdmissionControl {
+    /**
+     * Weight of the newest wait in the mean wait time, 1 / 2^WAIT_SHIFT.
+     */
+    private static final int WAIT_SHIFT = 4;
+
+    /**
+     * A search, as seen by the admission control.
+     */
+    interface Search {
+        RequestSchedule getSchedule();
+
+        /**
+         * @return {@link System#nanoTime()} at the arrival of the search
+         */
+        long getArrival();
+
+        /**
+         * Fails the requests of the search and stops it. Called without holding the lock of the admission control.
+         */
+        void shed();
+    }
+
+    /**
+     * The admitted searches, that did not start yet, in the order of their arrival.
+     */
+    private final Set<Search> waiting = Sets.newLinkedHashSet();
+    private final Set<Search> running = Sets.newHashSet();
+    private int bound;
+    private OverloadPolicy policy;
+    private long meanWait;
+
+    AdmissionControl(int bound, OverloadPolicy policy) {
+        setBound(bound, policy);
+    }
+
+    synchronized void setBound(int bound, OverloadPolicy policy) {
+        this.bound = bound;
+        this.policy = policy;
+    }
+
+    /**
+     * Admits a new search, if there is room or a waiting search is shed to make room.
+     *
+     * @return false, if the search is rejected
+     */
+    boolean admit(Search search) {
+        Search shed;
+        synchronized (this) {
+            if (waiting.size() + running.size() < bound) {
+                waiting.add(search);
+                return true;
+            }
+            shed = selectShed(search);
+            if (shed == search) {
+                return false;
+            }
+            waiting.remove(shed);
+            waiting.add(search);
+        }
+        shed.shed();
+        return true;
+    }
+
+    /**
+     * @return the waiting search to shed, or the new one, if it is rejected
+     */
+    private Search selectShed(Search search) {
+        if (policy == OverloadPolicy.REJECT_NEW || waiting.isEmpty()) {
+            return search;
+        }
+        if (policy == OverloadPolicy.SHED_OLDEST) {
+            return waiting.iterator().next();
+        }
+        Search lowest = search;
+        for (Search candidate : waiting) {
+            if (candidate.getSchedule().getPriority() < lowest.getSchedule().getPriority()) {
+                lowest = candidate;
+            }
+        }
+        if (lowest == search) {
+            return search;
+        }
+        // of several of lowest priority, the last arrived is served last anyway
+        for (Search candidate : waiting) {
+            if (candidate.getSchedule().getPriority() == lowest.getSchedule().getPriority()) {
+                lowest = candidate;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * Called before each slice of a search. The first call moves the search to the running ones, that are not shed.
+     *
+     * @return false, if the search was shed or finished meanwhile
+     */
+    synchronized boolean started(Search search, long now) {
+        if (!waiting.remove(search)) {
+            return running.contains(search);
+        }
+        running.add(search);
+        meanWait += (now - search.getArrival() - meanWait) >> WAIT_SHIFT;
+        return true;
+    }
+
+    synchronized void finished(Search search) {
+        if (!running.remove(search)) {
+            waiting.remove(search);
+        }
+    }
+
+    /**
+     * @return the number of admitted searches, that are waiting or running
+     */
+    synchronized int getDepth() {
+        return waiting.size() + running.size();
+    }
+
+    /**
+     * @return the number of admitted searches, that wait for their first slice
+     */
+    synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * @return the moving mean of the nanoseconds, that the recently started searches waited for their first slice
+     */
+    synchronized long getMeanWait() {
+        return meanWait;
+    }
+}
@@ -0,0 +1,103 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import org.joml.Vector3i;
+import org.terasology.pathfinding.model.Path;
+import org.terasology.pathfinding.model.SearchBudget;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A request of the asynchronous API. Each slice is a task of the executor, that passes the next slice to the executor,
+ * until the search is finished.
+ */
+final class AsyncSearch implements Runnable, AdmissionControl.Search {
+    final CompletableFuture<List<Path>> future = new CompletableFuture<>();
+    private final PathfinderSystem system;
+    private final SliceSearch search;
+    private final Executor executor;
+    private final long arrival = System.nanoTime();
+    private boolean started;
+
+    AsyncSearch(PathfinderSystem system, List<Vector3i> start, Vector3i target, SearchBudget budget,
+                Executor executor) {
+        this.system = system;
+        this.executor = executor;
+        search = new SliceSearch(system.navGraphSystem, system.pathfinder, start, target, budget, future::isDone);
+    }
+
+    @Override
+    public RequestSchedule getSchedule() {
+        return RequestSchedule.DEFAULT;
+    }
+
+    @Override
+    public long getArrival() {
+        return arrival;
+    }
+
+    @Override
+    public void shed() {
+        drop(system.shedRequests);
+    }
+
+    /**
+     * Fails the request, because the queue is full. The search stops at its next slice.
+     *
+     * @param counter counts the failed request
+     */
+    void drop(AtomicInteger counter) {
+        if (future.completeExceptionally(new RejectedExecutionException("Pathfinder queue is full"))) {
+            counter.incrementAndGet();
+        }
+    }
+
+    void submit() {
+        try {
+            executor.execute(this);
+        } catch (RuntimeException e) {
+            // e.g. rejected by a shut down executor
+            search.stop();
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (!started) {
+            started = true;
+            system.admission.started(this, System.nanoTime());
+        }
+        if (future.isDone()) {
+            search.stop();
+            return;
+        }
+        boolean done;
+        Lock lock = system.navGraphSystem.getLock().readLock();
+        lock.lock();
+        try {
+            done = search.step(PathfinderSystem.SLICE_EXPANSIONS);
+        } catch (RuntimeException e) {
+            search.stop();
+            future.completeExceptionally(e);
+            return;
+        } finally {
+            lock.unlock();
+        }
+        if (future.isDone()) {
+            search.stop();
+        } else if (done) {
+            if (future.complete(search.getPaths())) {
+                system.pathsSearched.incrementAndGet();
+            }
+        } else {
+            submit();
+        }
+    }
+}
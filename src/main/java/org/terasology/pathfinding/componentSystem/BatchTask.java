@@ -0,0 +1,104 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Task to search the targets of a batch one after the other. A slice continues with the next target, until its
+ * expansions are used up.
+ */
+final class BatchTask extends WorkerTask {
+    private final PathfinderSystem system;
+    private final List<TargetGroup> groups;
+    /**
+     * Index of the next group not yet claimed by any task of the batch.
+     */
+    private final AtomicInteger claimed;
+    private final RequestSchedule schedule;
+    private TargetGroup current;
+
+    BatchTask(PathfinderSystem system, List<TargetGroup> groups, AtomicInteger claimed, RequestSchedule schedule,
+              long scheduledTime) {
+        super(scheduledTime);
+        this.system = system;
+        this.groups = groups;
+        this.claimed = claimed;
+        this.schedule = schedule;
+    }
+
+    @Override
+    public String getName() {
+        return "Pathfinder:FindPathBatch";
+    }
+
+    /**
+     * @return the next group of the batch, null if all are claimed
+     */
+    private TargetGroup claim() {
+        int index = claimed.getAndIncrement();
+        return index < groups.size() ? groups.get(index) : null;
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        if (current == null) {
+            current = claim();
+        }
+        if (schedule.isExpired(now)) {
+            for (; current != null; current = claim()) {
+                current.expire();
+            }
+            return;
+        }
+        List<TargetGroup> finished = Lists.newArrayList();
+        int expansions = PathfinderSystem.SLICE_EXPANSIONS;
+        boolean expired;
+        Lock lock = system.navGraphSystem.getLock().readLock();
+        lock.lock();
+        try {
+            // the deadline may pass, while a chunk update holds the write lock
+            expired = schedule.isExpired(System.nanoTime());
+            while (!expired && current != null && expansions > 0) {
+                if (current.isAbandoned() || !system.admission.started(current, now)) {
+                    current.search.stop();
+                    system.admission.finished(current);
+                    current = claim();
+                    continue;
+                }
+                int expandedBefore = current.search.getExpandedNodes();
+                boolean done = current.search.step(expansions);
+                expansions -= current.search.getExpandedNodes() - expandedBefore;
+                if (!done) {
+                    break;
+                }
+                finished.add(current);
+                current = claim();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (TargetGroup group : finished) {
+            group.finish();
+        }
+        if (expired) {
+            for (; current != null; current = claim()) {
+                current.expire();
+            }
+        } else if (current != null) {
+            // queue behind the requests, that arrived meanwhile
+            reschedule(schedule.getScheduledTime(now));
+            if (!system.workers.offer(this)) {
+                for (; current != null; current = claim()) {
+                    current.search.stop();
+                    current.drop(system.rejectedRequests);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+/**
+ * Task running a command of the executor of the workers, as a request of normal priority.
+ */
+final class ExecutorTask extends WorkerTask {
+    private final Runnable command;
+
+    ExecutorTask(Runnable command) {
+        super(RequestSchedule.DEFAULT.getScheduledTime(System.nanoTime()));
+        this.command = command;
+    }
+
+    @Override
+    public String getName() {
+        return "Pathfinder:FindPathAsync";
+    }
+
+    @Override
+    public void run() {
+        command.run();
+    }
+}
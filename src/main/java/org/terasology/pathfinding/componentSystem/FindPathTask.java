@@ -0,0 +1,181 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.SettableFuture;
+import org.joml.Vector3i;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.pathfinding.model.Path;
+import org.terasology.pathfinding.model.SearchBudget;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Task to find a path.
+ */
+final class FindPathTask extends WorkerTask implements AdmissionControl.Search {
+    public EntityRef entity;
+    public List<Vector3i> start;
+    public Vector3i target;
+    public SearchBudget budget;
+    /**
+     * The futures of the requests answered by this search, guarded by the pending requests of the system. No more
+     * futures are added, once the task is removed from the pending requests.
+     */
+    final List<SettableFuture<List<Path>>> futures = Lists.newArrayListWithCapacity(1);
+    private final PathfinderSystem system;
+    private final RequestKey key;
+    private final RequestSchedule schedule;
+    private final long arrival;
+    private boolean started;
+    /**
+     * Set, once the futures of all requests are cancelled.
+     */
+    private volatile boolean cancelled;
+    private final SliceSearch search;
+
+    FindPathTask(PathfinderSystem system, List<Vector3i> start, Vector3i target, EntityRef entity, SearchBudget budget,
+                 RequestKey key, RequestSchedule schedule, long arrival, long scheduledTime) {
+        super(scheduledTime);
+        this.system = system;
+        this.start = start;
+        this.target = target;
+        this.entity = entity;
+        this.budget = budget;
+        this.key = key;
+        this.schedule = schedule;
+        this.arrival = arrival;
+        search = new SliceSearch(system.navGraphSystem, system.pathfinder, start, target, budget, () -> cancelled);
+    }
+
+    @Override
+    public RequestSchedule getSchedule() {
+        return schedule;
+    }
+
+    @Override
+    public long getArrival() {
+        return arrival;
+    }
+
+    @Override
+    public String getName() {
+        return "Pathfinder:FindPath";
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        if (cancelled) {
+            search.stop();
+            return;
+        }
+        if (schedule.isExpired(now)) {
+            expire();
+            return;
+        }
+        if (!started) {
+            started = true;
+            if (!system.admission.started(this, now)) {
+                // shed meanwhile
+                return;
+            }
+        }
+        boolean expired;
+        boolean done;
+        Lock lock = system.navGraphSystem.getLock().readLock();
+        lock.lock();
+        try {
+            // the deadline may pass, while a chunk update holds the write lock
+            expired = schedule.isExpired(System.nanoTime());
+            done = !expired && search.step(PathfinderSystem.SLICE_EXPANSIONS);
+        } finally {
+            lock.unlock();
+        }
+        if (cancelled) {
+            search.stop();
+        } else if (expired) {
+            expire();
+        } else if (done) {
+            finish();
+        } else {
+            // queue behind the requests, that arrived meanwhile
+            reschedule(schedule.getScheduledTime(now));
+            if (!system.workers.offer(this)) {
+                search.stop();
+                drop(system.rejectedRequests);
+            }
+        }
+    }
+
+    private void finish() {
+        synchronized (system.pendingRequests) {
+            system.pendingRequests.remove(key, this);
+        }
+        system.admission.finished(this);
+        for (SettableFuture<List<Path>> future : futures) {
+            if (future.set(search.getPaths())) {
+                system.pathsSearched.incrementAndGet();
+            }
+        }
+    }
+
+    private void expire() {
+        search.stop();
+        synchronized (system.pendingRequests) {
+            system.pendingRequests.remove(key, this);
+        }
+        system.admission.finished(this);
+        for (SettableFuture<List<Path>> future : futures) {
+            if (future.setException(new TimeoutException("Deadline of path request passed"))) {
+                system.expiredRequests.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void shed() {
+        drop(system.shedRequests);
+    }
+
+    /**
+     * Fails the requests, because the queue is full, and stops the search.
+     *
+     * @param counter counts the failed requests
+     */
+    void drop(AtomicInteger counter) {
+        synchronized (system.pendingRequests) {
+            cancelled = true;
+            system.pendingRequests.remove(key, this);
+        }
+        system.admission.finished(this);
+        for (SettableFuture<List<Path>> future : futures) {
+            if (future.setException(new RejectedExecutionException("Pathfinder queue is full"))) {
+                counter.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Called, when the future of one of the requests is cancelled. Once all are cancelled, the search stops and new
+     * requests no longer join it.
+     */
+    void requestCancelled() {
+        system.cancelledRequests.incrementAndGet();
+        synchronized (system.pendingRequests) {
+            for (SettableFuture<List<Path>> future : futures) {
+                if (!future.isCancelled()) {
+                    return;
+                }
+            }
+            cancelled = true;
+            system.pendingRequests.remove(key, this);
+        }
+        system.admission.finished(this);
+    }
+}
@@ -0,0 +1,47 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.util.concurrent.SettableFuture;
+import org.joml.Vector3i;
+import org.terasology.navgraph.FlowField;
+import org.terasology.navgraph.NavGraphSystem;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Task to compute a flow field. Holds the read lock of the navigation graph, so the chunks do not change meanwhile.
+ */
+final class FlowFieldTask extends WorkerTask {
+    private final NavGraphSystem navGraphSystem;
+    private final Vector3i target;
+    private final SettableFuture<FlowField> future;
+
+    FlowFieldTask(NavGraphSystem navGraphSystem, Vector3i target, SettableFuture<FlowField> future) {
+        super(RequestSchedule.DEFAULT.getScheduledTime(System.nanoTime()));
+        this.navGraphSystem = navGraphSystem;
+        this.target = target;
+        this.future = future;
+    }
+
+    @Override
+    public String getName() {
+        return "Pathfinder:FlowField";
+    }
+
+    @Override
+    public void run() {
+        if (future.isCancelled()) {
+            return;
+        }
+        FlowField field;
+        Lock lock = navGraphSystem.getLock().readLock();
+        lock.lock();
+        try {
+            field = navGraphSystem.getFlowFields().getFlowField(target);
+        } finally {
+            lock.unlock();
+        }
+        future.set(field);
+    }
+}
@@ -0,0 +1,27 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+/**
+ * What the {@link PathfinderSystem} does with a new request, while its queue is full, see
+ * {@link PathfinderSystem#setQueueBound(int, OverloadPolicy)}.
+ * <p/>
+ * Only searches, that did not start yet, are shed. If all searches in the queue are running, the new request is
+ * rejected. The futures of rejected and shed requests fail with a
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ */
+public enum OverloadPolicy {
+    /**
+     * The new request is rejected.
+     */
+    REJECT_NEW,
+    /**
+     * The waiting search of lowest priority is shed, of several the one, that arrived last. If no waiting search has
+     * a lower priority than the new request, the new request is rejected.
+     */
+    SHED_LOWEST_PRIORITY,
+    /**
+     * The waiting search, that arrived first, is shed, as its requestor most likely gave up on it.
+     */
+    SHED_OLDEST
+}
@@ -0,0 +1,48 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Start positions and target of one request of a batch, see {@link PathfinderSystem#requestPaths}.
+ */
+public final class PathRequest {
+    private final List<Vector3i> start;
+    private final Vector3i target;
+
+    /**
+     * @param start  the start positions, copied
+     * @param target the target position, copied
+     */
+    public PathRequest(List<? extends Vector3ic> start, Vector3ic target) {
+        List<Vector3i> copy = Lists.newArrayListWithCapacity(start.size());
+        for (Vector3ic pos : start) {
+            copy.add(pos != null ? new Vector3i(pos) : null);
+        }
+        this.start = Collections.unmodifiableList(copy);
+        this.target = new Vector3i(target);
+    }
+
+    public PathRequest(Vector3ic start, Vector3ic target) {
+        this(Collections.singletonList(start), target);
+    }
+
+    public List<Vector3i> getStart() {
+        return start;
+    }
+
+    public Vector3i getTarget() {
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return "PathRequest{start=" + start + ", target=" + target + "}";
+    }
+}
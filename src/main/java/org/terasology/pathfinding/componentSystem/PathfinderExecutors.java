@@ -0,0 +1,36 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors for the asynchronous requests of the {@link PathfinderSystem}, see
+ * {@link PathfinderSystem#requestPathAsync(org.joml.Vector3i, java.util.List,
+ * org.terasology.pathfinding.model.SearchBudget, java.util.concurrent.Executor)}.
+ */
+public final class PathfinderExecutors {
+    private PathfinderExecutors() {
+    }
+
+    /**
+     * Runs each task on a new virtual thread, if the runtime supports virtual threads (Java 21). Otherwise, tasks run
+     * on a pool of daemon threads, that grows as needed and drops threads idle for a minute.
+     * <p/>
+     * Searches waiting for the read lock of the navigation graph park their virtual thread, instead of blocking a
+     * platform thread.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | SecurityException e) {
+            return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setNameFormat("PathfinderRequest-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+    }
+}
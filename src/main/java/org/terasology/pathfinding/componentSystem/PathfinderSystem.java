@@ -3,6 +3,9 @@
 package org.terasology.pathfinding.componentSystem;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
@@ -12,72 +15,363 @@ import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.utilities.concurrency.TaskMaster;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.navgraph.FlowField;
 import org.terasology.navgraph.NavGraphSystem;
 import org.terasology.navgraph.WalkableBlock;
 import org.terasology.pathfinding.model.LineOfSight;
 import org.terasology.pathfinding.model.LineOfSight2d;
 import org.terasology.pathfinding.model.Path;
 import org.terasology.pathfinding.model.Pathfinder;
+import org.terasology.pathfinding.model.SearchBudget;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.registry.Share;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 
 /**
  * This systems helps finding a paths through the game world.
  * <p/>
- * Since paths finding takes some time, it completely runs in a background thread. So, a requested paths is not
+ * Since paths finding takes some time, it completely runs in background threads. So, a requested paths is not
  * available in the moment it is requested. Instead you need to listen for a PathReadyEvent.
  * <p/>
- * Here we also listen for world changes (OnChunkReady and OnBlockChanged). Currently, both events reset the
- * pathfinder (clear path cache) and rebuild the modified chunk.
+ * Requests are searched by a pool of workers, each with its own searchers. The workers share the navigation graph and
+ * hold its read lock while searching, chunk updates wait for the running slices.
+ * <p/>
+ * Identical requests, that arrive while the search for the first one is still queued or running, are merged into
+ * this search, unless they must be served earlier.
+ * <p/>
+ * Many requests may be passed at once, see {@link #requestPaths(EntityRef, List, SearchBudget, RequestSchedule)}.
+ * <p/>
+ * The asynchronous API ({@link #requestPathAsync(Vector3i, List, SearchBudget, Executor)}) returns a
+ * {@link CompletableFuture} and runs the slices of its searches on any executor, by default the workers.
+ * <p/>
+ * At most {@link #DEFAULT_QUEUE_BOUND} searches wait or run at once, see {@link #setQueueBound(int, OverloadPolicy)}.
+ * Requests beyond are rejected or replace waiting ones, their futures fail with a
+ * {@link RejectedExecutionException}.
+ * <p/>
+ * Each request has its own future. Cancelling it stops the search, once all requests merged into the search are
+ * cancelled: queued searches are skipped, running ones stop within a few hundred node expansions.
+ * <p/>
+ * Requests are served in the order of their {@link RequestSchedule}, requests, whose deadline passes while queued, are
+ * dropped. The deadline is checked again, once a slice holds the read lock, so requests, whose deadline passes while a
+ * chunk update blocks their slice, are dropped as well. Requested searches run in slices of a limited number of node
+ * expansions. After each slice the search is scheduled again like a new request, so short searches are not stuck
+ * behind a long one.
+ * <p/>
+ * World changes are handled by the {@link NavGraphSystem}: loaded chunks are rebuilt, and only the cached paths,
+ * clusters and flow fields, that cover a rebuilt chunk or one depending on it, are dropped. Running searches restart
+ * only, if a chunk they read was rebuilt between two of their slices.
  * </p>
- * Chunk updates are processed before any pathfinding request. However, this system does not inform about
- * paths getting invalid.
+ * Chunk updates are processed before any slice, that starts after the update was queued. However, this system does not
+ * inform about paths getting invalid.
  *
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(value = PathfinderSystem.class)
 public class PathfinderSystem extends BaseComponentSystem {
+    public static final int DEFAULT_QUEUE_BOUND = 1024;
+    static final int SLICE_EXPANSIONS = 1000;
 
     private static final Logger logger = LoggerFactory.getLogger(PathfinderSystem.class);
+    private static final int DEFAULT_WORKERS = 2;
 
+    /*
+     * The fields below are package-private, they are shared with the tasks and searches of this package.
+     */
     @In
-    private NavGraphSystem navGraphSystem;
+    NavGraphSystem navGraphSystem;
+    Pathfinder pathfinder;
+    final AtomicInteger pathsSearched = new AtomicInteger();
+    final AtomicInteger expiredRequests = new AtomicInteger();
+    final AtomicInteger cancelledRequests = new AtomicInteger();
+    final AtomicInteger rejectedRequests = new AtomicInteger();
+    final AtomicInteger shedRequests = new AtomicInteger();
+    final AdmissionControl admission = new AdmissionControl(DEFAULT_QUEUE_BOUND, OverloadPolicy.SHED_LOWEST_PRIORITY);
+    /**
+     * Queued and running searches by request, guarded by itself.
+     */
+    final Map<RequestKey, FindPathTask> pendingRequests = Maps.newHashMap();
+    /**
+     * Started by {@link #initialise()} and stopped by {@link #shutdown()}, so systems, that are never initialised,
+     * hold no threads.
+     */
+    volatile TaskMaster<NavGraphSystem.NavGraphTask> workers;
+
     @In
     private LineOfSight lineOfSight;
-    private Pathfinder pathfinder;
-    private int nextId;
-    private int pathsSearched;
+    private final AtomicInteger mergedRequests = new AtomicInteger();
+    private final int workerCount;
+    /**
+     * Runs tasks as requests of normal priority on the workers.
+     */
+    private final Executor workerExecutor;
+    private volatile Executor asyncExecutor;
 
     public PathfinderSystem() {
+        this(DEFAULT_WORKERS);
+    }
+
+    /**
+     * @param workerCount number of threads searching paths concurrently
+     */
+    public PathfinderSystem(int workerCount) {
         CoreRegistry.put(LineOfSight.class, new LineOfSight2d());
+        this.workerCount = workerCount;
+        workerExecutor = command -> {
+            if (!workers.offer(new ExecutorTask(command))) {
+                throw new RejectedExecutionException("Pathfinder workers rejected the task");
+            }
+        };
+        asyncExecutor = workerExecutor;
     }
 
     @Override
     public void initialise() {
         pathfinder = createPathfinder();
+        workers = TaskMaster.createPriorityTaskMaster("PathfinderWorker", workerCount, 1024);
         logger.info("PathfinderSystem started");
     }
 
     @Override
     public void shutdown() {
+        if (workers != null) {
+            workers.shutdown(new NavGraphSystem.ShutdownTask(), false);
+        }
     }
 
     public SettableFuture<List<Path>> requestPath(EntityRef requestor, Vector3i target, List<Vector3i> start) {
+        return requestPath(requestor, target, start, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Requests paths with a limited search budget. Searches, that run out of budget, deliver partial paths
+     * ({@link Path#isPartial()}), that lead towards the target.
+     */
+    public SettableFuture<List<Path>> requestPath(EntityRef requestor, Vector3i target, List<Vector3i> start,
+                                                  SearchBudget budget) {
+        return requestPath(requestor, target, start, budget, RequestSchedule.DEFAULT);
+    }
+
+    /**
+     * Requests paths with a priority and optional deadline. If the deadline passes before the search is finished, the
+     * future fails with a {@link TimeoutException}. If the queue is full, the future may fail at once with a
+     * {@link RejectedExecutionException}.
+     */
+    public SettableFuture<List<Path>> requestPath(EntityRef requestor, Vector3i target, List<Vector3i> start,
+                                                  SearchBudget budget, RequestSchedule schedule) {
+        RequestKey key = new RequestKey(start, target, budget);
+        long arrival = System.nanoTime();
+        long scheduledTime = schedule.getScheduledTime(arrival);
         SettableFuture<List<Path>> future = SettableFuture.create();
-        FindPathTask task = new FindPathTask(start, target, requestor, future);
-        navGraphSystem.offer(task);
+        FindPathTask task;
+        boolean merged;
+        synchronized (pendingRequests) {
+            task = pendingRequests.get(key);
+            merged = task != null && task.scheduledTime - scheduledTime <= 0
+                    && task.getSchedule().expiresNotBefore(schedule);
+            if (merged) {
+                mergedRequests.incrementAndGet();
+            } else {
+                task = new FindPathTask(this, start, target, requestor, budget, key, schedule, arrival, scheduledTime);
+                pendingRequests.put(key, task);
+            }
+            task.futures.add(future);
+        }
+        FindPathTask search = task;
+        future.addListener(() -> {
+            if (future.isCancelled()) {
+                search.requestCancelled();
+            }
+        }, MoreExecutors.directExecutor());
+        if (!merged && !(admission.admit(task) && workers.offer(task))) {
+            task.drop(rejectedRequests);
+        }
+        return future;
+    }
+
+    public List<SettableFuture<List<Path>>> requestPaths(EntityRef requestor, List<PathRequest> requests) {
+        return requestPaths(requestor, requests, SearchBudget.UNLIMITED, RequestSchedule.DEFAULT);
+    }
+
+    /**
+     * Requests the paths of many requests at once, e.g. when many agents plan their paths at the same time.
+     * <p/>
+     * Requests to the same target are searched together, by one search from all their starts. The targets are ordered
+     * by cluster and searched by one task per worker, each claiming the next target, once done with its last. So each
+     * worker searches nearby targets back to back, sharing the cached paths and cluster costs. Batched requests are not
+     * merged with other requests.
+     * <p/>
+     * Each target counts as one search for the bound of the queue.
+     *
+     * @return the futures in the order of the requests, each with the paths of the starts of its request
+     */
+    public List<SettableFuture<List<Path>>> requestPaths(EntityRef requestor, List<PathRequest> requests,
+                                                         SearchBudget budget, RequestSchedule schedule) {
+        long arrival = System.nanoTime();
+        List<SettableFuture<List<Path>>> futures = Lists.newArrayListWithCapacity(requests.size());
+        Map<Vector3i, TargetGroup> groupsByTarget = Maps.newLinkedHashMap();
+        for (PathRequest request : requests) {
+            TargetGroup group = groupsByTarget.computeIfAbsent(request.getTarget(),
+                    target -> new TargetGroup(this, target, budget, schedule, arrival));
+            SettableFuture<List<Path>> future = SettableFuture.create();
+            future.addListener(() -> {
+                if (future.isCancelled()) {
+                    cancelledRequests.incrementAndGet();
+                    if (group.isAbandoned()) {
+                        admission.finished(group);
+                    }
+                }
+            }, MoreExecutors.directExecutor());
+            futures.add(future);
+            group.add(request.getStart(), future);
+        }
+        List<TargetGroup> groups = Lists.newArrayListWithCapacity(groupsByTarget.size());
+        for (TargetGroup group : groupsByTarget.values()) {
+            if (admission.admit(group)) {
+                groups.add(group);
+            } else {
+                group.drop(rejectedRequests);
+            }
+        }
+        groups.sort(TargetGroup.LOCALITY);
+        long scheduledTime = schedule.getScheduledTime(arrival);
+        AtomicInteger claimed = new AtomicInteger();
+        boolean offered = false;
+        for (int i = Math.min(workerCount, groups.size()); i > 0; i--) {
+            offered |= workers.offer(new BatchTask(this, groups, claimed, schedule, scheduledTime));
+        }
+        if (!offered) {
+            for (TargetGroup group : groups) {
+                group.drop(rejectedRequests);
+            }
+        }
+        return futures;
+    }
+
+    public CompletableFuture<List<Path>> requestPathAsync(Vector3i target, List<Vector3i> start) {
+        return requestPathAsync(target, start, SearchBudget.UNLIMITED, asyncExecutor);
+    }
+
+    public CompletableFuture<List<Path>> requestPathAsync(Vector3i target, List<Vector3i> start, SearchBudget budget) {
+        return requestPathAsync(target, start, budget, asyncExecutor);
+    }
+
+    /**
+     * Requests paths, that are searched slice by slice, each slice a task of the given executor, e.g. one of
+     * {@link PathfinderExecutors#newVirtualThreadExecutor()}.
+     * <p/>
+     * Unlike {@link #requestPath}, the request waits for the chunks of its target and starts, that are not built yet.
+     * The wait holds no thread, the first slice is passed to the executor once the chunks are built. The wait is not
+     * bounded, callers, that do not know whether the chunks are going to be loaded, should bound it, e.g. by
+     * {@link CompletableFuture#orTimeout}.
+     * <p/>
+     * Completing or cancelling the future stops the search. Asynchronous requests are not merged with other requests.
+     * They count for the bound of the queue from their arrival, including the wait for the chunks, and are served with
+     * the normal priority.
+     *
+     * @return the future of the paths by start, never null. It completes with null, if the target or all starts are not
+     * walkable.
+     */
+    public CompletableFuture<List<Path>> requestPathAsync(Vector3i target, List<Vector3i> start, SearchBudget budget,
+                                                          Executor executor) {
+        Vector3i targetCopy = new Vector3i(target);
+        List<Vector3i> startCopy = Lists.newArrayListWithCapacity(start.size());
+        Set<Vector3i> chunks = Sets.newHashSet();
+        chunks.add(Chunks.toChunkPos(target, new Vector3i()));
+        for (Vector3i pos : start) {
+            if (pos != null) {
+                startCopy.add(new Vector3i(pos));
+                chunks.add(Chunks.toChunkPos(pos, new Vector3i()));
+            } else {
+                startCopy.add(null);
+            }
+        }
+        AsyncSearch search = new AsyncSearch(this, startCopy, targetCopy, budget, executor);
+        search.future.whenComplete((paths, e) -> {
+            if (e instanceof CancellationException) {
+                cancelledRequests.incrementAndGet();
+            }
+            admission.finished(search);
+        });
+        if (!admission.admit(search)) {
+            search.drop(rejectedRequests);
+            return search.future;
+        }
+        List<CompletableFuture<Void>> builds = Lists.newArrayListWithCapacity(chunks.size());
+        for (Vector3i chunk : chunks) {
+            builds.add(navGraphSystem.whenChunkBuilt(chunk));
+        }
+        CompletableFuture.allOf(builds.toArray(new CompletableFuture<?>[0])).thenRun(search::submit);
+        return search.future;
+    }
+
+    /**
+     * @param executor the executor of the asynchronous requests, that are not given one, null for the workers
+     */
+    public void setAsyncExecutor(Executor executor) {
+        asyncExecutor = executor != null ? executor : workerExecutor;
+    }
+
+    /**
+     * Bounds the number of searches, that wait or run at once. Identical requests merged into one search count once,
+     * each target of a batch counts as one search.
+     *
+     * @param bound  the maximum number of searches, applied to new requests
+     * @param policy what happens to a new request, while the bound is reached
+     */
+    public void setQueueBound(int bound, OverloadPolicy policy) {
+        admission.setBound(bound, policy);
+    }
+
+    /**
+     * Requests the flow field of a target, that many agents walk to. Once computed, each agent reads its next step
+     * from the field ({@link FlowField#getNext(WalkableBlock)}) instead of searching a path. The future is set to null,
+     * if the target is not walkable. If the queue is full, the future fails at once with a
+     * {@link RejectedExecutionException}.
+     */
+    public SettableFuture<FlowField> requestFlowField(Vector3i target) {
+        SettableFuture<FlowField> future = SettableFuture.create();
+        if (!workers.offer(new FlowFieldTask(navGraphSystem, target, future))) {
+            future.setException(new RejectedExecutionException("Pathfinder queue is full"));
+        }
         return future;
     }
 
     public Path findPath(final WalkableBlock target, final WalkableBlock start) {
-        return pathfinder.findPath(target, start);
+        Lock lock = navGraphSystem.getLock().readLock();
+        lock.lock();
+        try {
+            return pathfinder.findPath(target, start);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public List<Path> findPath(final WalkableBlock target, final List<WalkableBlock> starts) {
-        return pathfinder.findPath(target, starts);
+        return findPath(target, starts, SearchBudget.UNLIMITED);
+    }
+
+    public List<Path> findPath(final WalkableBlock target, final List<WalkableBlock> starts, SearchBudget budget) {
+        Lock lock = navGraphSystem.getLock().readLock();
+        lock.lock();
+        try {
+            return pathfinder.findPath(target, starts, budget);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public WalkableBlock getBlock(Vector3i pos) {
@@ -92,74 +386,70 @@ public class PathfinderSystem extends BaseComponentSystem {
         return navGraphSystem.getBlock(pos);
     }
 
+    /**
+     * @return the number of answered requests, including merged ones
+     */
     public int getPathsSearched() {
-        return pathsSearched;
+        return pathsSearched.get();
     }
 
-    protected Pathfinder createPathfinder() {
-        return new Pathfinder(navGraphSystem, lineOfSight);
+    /**
+     * @return the number of requests, that were merged into the search of an identical request
+     */
+    public int getMergedRequests() {
+        return mergedRequests.get();
     }
 
     /**
-     * Task to find a path.
-     * <p/>
-     * Note: this class has a natural ordering that is inconsistent with equals.
-     */
-    private final class FindPathTask implements NavGraphSystem.NavGraphTask {
-        public EntityRef entity;
-        public List<Path> paths;
-        public List<Vector3i> start;
-        public Vector3i target;
-        public int pathId;
-        public SettableFuture<List<Path>> future;
-
-        private FindPathTask(List<Vector3i> start, Vector3i target, EntityRef entity, SettableFuture<List<Path>> future) {
-            this.start = start;
-            this.target = target;
-            this.entity = entity;
-            this.pathId = nextId;
-            this.future = future;
-            nextId++;
-        }
+     * @return the number of requests, that were dropped, because their deadline passed
+     */
+    public int getExpiredRequests() {
+        return expiredRequests.get();
+    }
 
-        @Override
-        public String getName() {
-            return "Pathfinder:FindPath";
-        }
+    /**
+     * @return the number of requests, whose future was cancelled before the search finished
+     */
+    public int getCancelledRequests() {
+        return cancelledRequests.get();
+    }
 
-        @Override
-        public void run() {
-            pathsSearched++;
-            List<WalkableBlock> startBlocks = Lists.newArrayList();
-            for (Vector3i pos : start) {
-                if (pos != null) {
-                    startBlocks.add(navGraphSystem.getBlock(pos));
-                }
-            }
-            WalkableBlock targetBlock = navGraphSystem.getBlock(this.target);
-            paths = null;
-            if (targetBlock != null && startBlocks.size() > 0) {
-                paths = pathfinder.findPath(targetBlock, startBlocks);
-            }
-            if (future != null) {
-                future.set(paths);
-            }
-        }
+    /**
+     * @return the number of requests, that were rejected, because the queue was full
+     */
+    public int getRejectedRequests() {
+        return rejectedRequests.get();
+    }
 
-        @Override
-        public int getPriority() {
-            return 1 + pathId;
-        }
+    /**
+     * @return the number of requests, that were dropped from the queue, to make room for new requests
+     */
+    public int getShedRequests() {
+        return shedRequests.get();
+    }
 
-        @Override
-        public boolean isTerminateSignal() {
-            return false;
-        }
+    /**
+     * @return the number of searches, that wait or run
+     */
+    public int getQueueDepth() {
+        return admission.getDepth();
+    }
 
-        @Override
-        public int compareTo(NavGraphSystem.NavGraphTask o) {
-            return Integer.compare(this.getPriority(), o.getPriority());
-        }
+    /**
+     * @return the number of searches, that wait for their first slice
+     */
+    public int getWaitingSearches() {
+        return admission.getWaiting();
+    }
 
+    /**
+     * @return the moving mean of the time, that the recently started searches waited for their first slice
+     */
+    public long getMeanWaitTime(TimeUnit unit) {
+        return unit.convert(admission.getMeanWait(), TimeUnit.NANOSECONDS);
+    }
+
+    protected Pathfinder createPathfinder() {
+        return new Pathfinder(navGraphSystem, lineOfSight);
     }
 }
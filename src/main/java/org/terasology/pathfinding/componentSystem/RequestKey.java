@@ -0,0 +1,46 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.terasology.pathfinding.model.SearchBudget;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Start and target positions and budget of a request, copied, so the caller may reuse its vectors.
+ */
+final class RequestKey {
+    private final List<Vector3i> start;
+    private final Vector3i target;
+    private final SearchBudget budget;
+
+    RequestKey(List<Vector3i> start, Vector3i target, SearchBudget budget) {
+        this.start = Lists.newArrayListWithCapacity(start.size());
+        for (Vector3i pos : start) {
+            this.start.add(pos != null ? new Vector3i(pos) : null);
+        }
+        this.target = target != null ? new Vector3i(target) : null;
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestKey)) {
+            return false;
+        }
+        RequestKey other = (RequestKey) o;
+        return start.equals(other.start) && Objects.equals(target, other.target)
+                && Objects.equals(budget, other.budget);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, target, budget);
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How urgently a path request is served, see {@link PathfinderSystem#requestPath}.
+ * <p/>
+ * Requests are served earliest scheduled time first. A request is scheduled at its arrival plus a latency, that halves
+ * with each priority level above normal and doubles with each level below. So an urgent request overtakes the requests,
+ * that arrived shortly before, but a request waiting for long is served eventually, whatever its priority.
+ * <p/>
+ * A request with deadline is scheduled no later than its deadline. If it is not served until then, it is dropped
+ * without searching.
+ */
+public final class RequestSchedule {
+    public static final int MIN_PRIORITY = -8;
+    public static final int NORMAL_PRIORITY = 0;
+    public static final int MAX_PRIORITY = 8;
+    public static final RequestSchedule DEFAULT = new RequestSchedule(NORMAL_PRIORITY, 0, false);
+
+    /**
+     * Latency of requests of normal priority.
+     */
+    private static final long NORMAL_LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int priority;
+    private final long deadline;
+    private final boolean hasDeadline;
+
+    private RequestSchedule(int priority, long deadline, boolean hasDeadline) {
+        this.priority = Math.max(MIN_PRIORITY, Math.min(MAX_PRIORITY, priority));
+        this.deadline = deadline;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * @param priority from {@link #MIN_PRIORITY} to {@link #MAX_PRIORITY}, higher is served earlier
+     */
+    public static RequestSchedule ofPriority(int priority) {
+        return new RequestSchedule(priority, 0, false);
+    }
+
+    /**
+     * @param time the time from now, until which the request must be served
+     */
+    public static RequestSchedule ofDeadline(long time, TimeUnit unit) {
+        return of(NORMAL_PRIORITY, time, unit);
+    }
+
+    public static RequestSchedule of(int priority, long time, TimeUnit unit) {
+        return new RequestSchedule(priority, System.nanoTime() + unit.toNanos(time), true);
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * @return the deadline in {@link System#nanoTime()}, if {@link #hasDeadline()}
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @param now {@link System#nanoTime()}
+     * @return true, if the deadline passed
+     */
+    public boolean isExpired(long now) {
+        return hasDeadline && now - deadline > 0;
+    }
+
+    /**
+     * @param arrival {@link System#nanoTime()} at the arrival of the request
+     * @return the {@link System#nanoTime()}, until which the request is scheduled
+     */
+    public long getScheduledTime(long arrival) {
+        long latency = priority >= 0 ? NORMAL_LATENCY >> priority : NORMAL_LATENCY << -priority;
+        long time = arrival + latency;
+        return hasDeadline && deadline - time < 0 ? deadline : time;
+    }
+
+    /**
+     * @return true, if a request of this schedule is never dropped before a request of the given one
+     */
+    public boolean expiresNotBefore(RequestSchedule other) {
+        return !hasDeadline || other.hasDeadline && deadline - other.deadline >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestSchedule{priority=" + priority + ", deadline=" + (hasDeadline ? deadline : "none") + "}";
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+import org.terasology.pathfinding.model.Path;
+import org.terasology.pathfinding.model.PathSearch;
+import org.terasology.pathfinding.model.Pathfinder;
+import org.terasology.pathfinding.model.SearchBudget;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A search of the paths from several start positions to a target, run slice by slice. The blocks are looked up, when
+ * the search starts, and again, if a chunk read by the search was updated between two slices. Updates of other chunks
+ * do not restart the search, so it completes, while chunks elsewhere keep loading. Null start positions are skipped,
+ * starts on blocks, that are not walkable, get {@link Path#INVALID}.
+ * <p/>
+ * Slices must hold the read lock of the navigation graph.
+ */
+final class SliceSearch {
+    private final NavGraphSystem navGraphSystem;
+    private final Pathfinder pathfinder;
+    private final List<Vector3i> start;
+    private final Vector3i target;
+    private final SearchBudget budget;
+    private final BooleanSupplier cancellation;
+    private PathSearch search;
+    /**
+     * Indices of the start positions, that are searched, not counting null positions.
+     */
+    private final List<Integer> searched = Lists.newArrayList();
+    private int positions;
+    private int chunkUpdates;
+    /**
+     * Nodes expanded by searches, that were restarted.
+     */
+    private int restartedNodes;
+    private List<Path> paths;
+
+    SliceSearch(NavGraphSystem navGraphSystem, Pathfinder pathfinder, List<Vector3i> start, Vector3i target,
+                SearchBudget budget, BooleanSupplier cancellation) {
+        this.navGraphSystem = navGraphSystem;
+        this.pathfinder = pathfinder;
+        this.start = start;
+        this.target = target;
+        this.budget = budget;
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Runs one slice of the search.
+     *
+     * @return true, if the search is finished or cancelled
+     */
+    boolean step(int maxExpansions) {
+        int updates = navGraphSystem.getChunkUpdates();
+        if (search != null && chunkUpdates != updates) {
+            if (search.isOutdated(chunkUpdates)) {
+                // the blocks held by the search are outdated
+                stop();
+            } else {
+                // only chunks, that the search did not read, changed
+                chunkUpdates = updates;
+            }
+        }
+        if (search == null) {
+            List<WalkableBlock> startBlocks = Lists.newArrayList();
+            searched.clear();
+            positions = 0;
+            for (Vector3i pos : start) {
+                if (pos != null) {
+                    WalkableBlock block = navGraphSystem.getBlock(pos);
+                    if (block != null) {
+                        startBlocks.add(block);
+                        searched.add(positions);
+                    }
+                    positions++;
+                }
+            }
+            WalkableBlock targetBlock = navGraphSystem.getBlock(this.target);
+            if (targetBlock == null || startBlocks.isEmpty()) {
+                paths = null;
+                return true;
+            }
+            search = pathfinder.startSearch(targetBlock, startBlocks, budget);
+            search.setCancellation(cancellation);
+            chunkUpdates = navGraphSystem.getChunkUpdates();
+        }
+        if (!search.step(maxExpansions)) {
+            return false;
+        }
+        if (searched.size() == positions) {
+            paths = search.getPaths();
+        } else {
+            paths = Lists.newArrayListWithCapacity(positions);
+            for (int i = 0; i < positions; i++) {
+                paths.add(Path.INVALID);
+            }
+            for (int i = 0; i < searched.size(); i++) {
+                paths.set(searched.get(i), search.getPaths().get(i));
+            }
+        }
+        return true;
+    }
+
+    int getExpandedNodes() {
+        return restartedNodes + (search != null ? search.getExpandedNodes() : 0);
+    }
+
+    void stop() {
+        if (search != null) {
+            restartedNodes += search.getExpandedNodes();
+            search.cancel();
+            search = null;
+        }
+    }
+
+    /**
+     * @return the paths by start position, or null, if the target or all starts are not walkable
+     */
+    List<Path> getPaths() {
+        return paths;
+    }
+}
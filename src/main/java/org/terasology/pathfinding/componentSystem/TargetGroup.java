@@ -0,0 +1,136 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.SettableFuture;
+import org.joml.Vector3i;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.navgraph.Cluster;
+import org.terasology.pathfinding.model.Path;
+import org.terasology.pathfinding.model.SearchBudget;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The requests of a batch to one target, searched by one search from all their starts.
+ */
+final class TargetGroup implements AdmissionControl.Search {
+    /**
+     * Orders the targets of a batch by cluster, then by chunk.
+     */
+    static final Comparator<TargetGroup> LOCALITY = Comparator
+            .comparingInt((TargetGroup group) -> Math.floorDiv(group.chunk.x, Cluster.SIZE))
+            .thenComparingInt(group -> Math.floorDiv(group.chunk.z, Cluster.SIZE))
+            .thenComparingInt(group -> group.chunk.y)
+            .thenComparingInt(group -> group.chunk.x)
+            .thenComparingInt(group -> group.chunk.z);
+
+    final SliceSearch search;
+    private final PathfinderSystem system;
+    private final Vector3i chunk;
+    private final RequestSchedule schedule;
+    private final long arrival;
+    private final List<Vector3i> start = Lists.newArrayList();
+    private final List<SettableFuture<List<Path>>> futures = Lists.newArrayList();
+    /**
+     * Per request, the index after its last start.
+     */
+    private final List<Integer> ends = Lists.newArrayList();
+    /**
+     * Set, once the requests were dropped, because the queue is full.
+     */
+    private volatile boolean dropped;
+
+    TargetGroup(PathfinderSystem system, Vector3i target, SearchBudget budget, RequestSchedule schedule,
+                long arrival) {
+        this.system = system;
+        this.chunk = Chunks.toChunkPos(target, new Vector3i());
+        this.schedule = schedule;
+        this.arrival = arrival;
+        search = new SliceSearch(system.navGraphSystem, system.pathfinder, start, target, budget, this::isAbandoned);
+    }
+
+    @Override
+    public RequestSchedule getSchedule() {
+        return schedule;
+    }
+
+    @Override
+    public long getArrival() {
+        return arrival;
+    }
+
+    void add(List<Vector3i> requestStart, SettableFuture<List<Path>> future) {
+        for (Vector3i pos : requestStart) {
+            if (pos != null) {
+                start.add(pos);
+            }
+        }
+        futures.add(future);
+        ends.add(start.size());
+    }
+
+    /**
+     * @return true, if the requests were dropped or all are cancelled
+     */
+    boolean isAbandoned() {
+        if (dropped) {
+            return true;
+        }
+        for (SettableFuture<List<Path>> future : futures) {
+            if (!future.isCancelled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void finish() {
+        system.admission.finished(this);
+        List<Path> paths = search.getPaths();
+        int from = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            int to = ends.get(i);
+            List<Path> result = paths != null && from < to ? Lists.newArrayList(paths.subList(from, to)) : null;
+            if (futures.get(i).set(result)) {
+                system.pathsSearched.incrementAndGet();
+            }
+            from = to;
+        }
+    }
+
+    void expire() {
+        search.stop();
+        system.admission.finished(this);
+        for (SettableFuture<List<Path>> future : futures) {
+            if (future.setException(new TimeoutException("Deadline of path request passed"))) {
+                system.expiredRequests.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void shed() {
+        drop(system.shedRequests);
+    }
+
+    /**
+     * Fails the requests, because the queue is full. The search stops, once its task gets to it.
+     *
+     * @param counter counts the failed requests
+     */
+    void drop(AtomicInteger counter) {
+        dropped = true;
+        system.admission.finished(this);
+        for (SettableFuture<List<Path>> future : futures) {
+            if (future.setException(new RejectedExecutionException("Pathfinder queue is full"))) {
+                counter.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.componentSystem;
+
+import org.terasology.navgraph.NavGraphSystem;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Task of the workers of the {@link PathfinderSystem}, ordered by scheduled time.
+ * <p/>
+ * Note: this class has a natural ordering that is inconsistent with equals.
+ */
+abstract class WorkerTask implements NavGraphSystem.NavGraphTask {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    public int pathId = NEXT_ID.getAndIncrement();
+    /**
+     * {@link System#nanoTime()}, until which the task should run, only changed while not queued.
+     */
+    protected volatile long scheduledTime;
+
+    protected WorkerTask(long scheduledTime) {
+        this.scheduledTime = scheduledTime;
+    }
+
+    /**
+     * Schedules the task again, behind the tasks of the same scheduled time, that were created meanwhile.
+     */
+    protected void reschedule(long newScheduledTime) {
+        pathId = NEXT_ID.getAndIncrement();
+        scheduledTime = newScheduledTime;
+    }
+
+    @Override
+    public int getPriority() {
+        return 1 + pathId;
+    }
+
+    @Override
+    public boolean isTerminateSignal() {
+        return false;
+    }
+
+    @Override
+    public int compareTo(NavGraphSystem.NavGraphTask o) {
+        if (o instanceof WorkerTask) {
+            WorkerTask other = (WorkerTask) o;
+            int result = Long.signum(scheduledTime - other.scheduledTime);
+            return result != 0 ? result : Integer.compare(pathId, other.pathId);
+        }
+        return Integer.compare(this.getPriority(), o.getPriority());
+    }
+}
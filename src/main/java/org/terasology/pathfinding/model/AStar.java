@@ -6,7 +6,6 @@ import com.google.common.collect.Lists;
 import org.terasology.navgraph.BitMap;
 
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -17,35 +16,50 @@ public class AStar {
     private float[] gMap;
     private float[] fMap;
     private int[] pMap;
-    private List<Integer> successors = Lists.newArrayList();
+    private int[] visited;
+    private int[] closed;
+    private int generation;
+    private int expandedNodes;
+    private int[] successors = new int[BitMap.MAX_SUCCESSORS];
 
     private int start;
     private int end;
 
-    private BinaryHeap openList;
-
-    private List<Integer> closedList = Lists.newArrayList();
+    private OpenList openList;
+    private boolean consistentHeuristic;
 
     public AStar(BitMap graph) {
+        this(graph, OpenList.Type.BINARY_HEAP);
+    }
+
+    /**
+     * @param graph        the grid to search
+     * @param openListType the priority queue used for the open list
+     */
+    public AStar(BitMap graph, OpenList.Type openListType) {
         this.graph = graph;
         gMap = new float[graph.getNumberOfNodes()];
         fMap = new float[graph.getNumberOfNodes()];
         pMap = new int[graph.getNumberOfNodes()];
-        openList = new BinaryHeap(new Comparator<Integer>() {
-            public int compare(Integer a, Integer b) {
-                float fA = fMap[a];
-                float fB = fMap[b];
-                return -(fA < fB ? -1 : (fA > fB ? 1 : 0));
-            }
-        }, 1024, graph.getNumberOfNodes());
+        visited = new int[graph.getNumberOfNodes()];
+        closed = new int[graph.getNumberOfNodes()];
+        openList = openListType.create(1024, graph.getNumberOfNodes());
+        consistentHeuristic = openListType.isMonotone();
     }
 
+    /**
+     * Starts a new search generation. Node state is only valid if its stamp matches the current generation, so
+     * nothing needs to be cleared here except the (usually small) remains of the open list.
+     */
     public void reset() {
-        Arrays.fill(gMap, 0);
-        Arrays.fill(fMap, 0);
-        Arrays.fill(pMap, 0);
-        closedList.clear();
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
         openList.clear();
+        expandedNodes = 0;
     }
 
     public boolean run(int newStart, int newEnd) {
@@ -53,8 +67,8 @@ public class AStar {
         this.start = newStart;
         this.end = newEnd;
 
-        fMap[start] = 0;
-        openList.insert(start);
+        visit(start);
+        openList.insert(start, fMap[start]);
 
         while (!openList.isEmpty()) {
             int current = openList.removeMin();
@@ -62,7 +76,8 @@ public class AStar {
                 return true;
             }
             expand(current);
-            closedList.add(current);
+            closed[current] = generation;
+            expandedNodes++;
         }
         return false;
     }
@@ -100,53 +115,91 @@ public class AStar {
         int current = end;
         while (current != start && current != 0) {
             list.add(current);
-            current = pMap[current];
+            current = getP(current);
         }
         list.add(start);
     }
 
     protected void expand(int current) {
-        successors.clear();
-        graph.getSuccessors(current, successors);
-        for (Integer successor : successors) {
-            if (closedList.contains(successor)) {
-                continue;
-            }
+        int count = graph.getSuccessors(current, successors);
+        for (int i = 0; i < count; i++) {
+            updateSuccessor(current, successors[i]);
+        }
+    }
 
-            float tentativeG = gMap[current] + c(current, successor);
-            if (openList.contains(successor) && tentativeG >= gMap[successor]) {
-                continue;
-            }
+    /**
+     * Relaxes the edge from current to successor and puts the successor into the open list, if it got cheaper.
+     */
+    protected void updateSuccessor(int current, int successor) {
+        if (closed[successor] == generation) {
+            return;
+        }
+        if (visited[successor] != generation) {
+            visit(successor);
+        }
 
-            pMap[successor] = current;
-            gMap[successor] = tentativeG;
-            fMap[successor] = tentativeG + h(successor);
+        float tentativeG = gMap[current] + c(current, successor);
+        if (openList.contains(successor) && tentativeG >= gMap[successor]) {
+            return;
+        }
 
-            if (openList.contains(successor)) {
-                openList.update(successor);
-            } else {
-                openList.insert(successor);
-            }
+        pMap[successor] = current;
+        gMap[successor] = tentativeG;
+        fMap[successor] = tentativeG + h(successor);
+
+        if (openList.contains(successor)) {
+            openList.update(successor, fMap[successor]);
+        } else {
+            openList.insert(successor, fMap[successor]);
         }
     }
 
+    private void visit(int id) {
+        visited[id] = generation;
+        gMap[id] = 0;
+        fMap[id] = 0;
+        pMap[id] = 0;
+    }
+
     protected float c(int from, int to) {
         return graph.exactDistance(from, to);
     }
 
     protected float h(int current) {
+        if (consistentHeuristic) {
+            return graph.octileDistance(current, end);
+        }
         return graph.fastDistance(current, end);
     }
 
+    public BitMap getGraph() {
+        return graph;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return number of nodes expanded by the last run
+     */
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
     public float getG(int id) {
-        return gMap[id];
+        return visited[id] == generation ? gMap[id] : 0;
     }
 
     public float getF(int id) {
-        return fMap[id];
+        return visited[id] == generation ? fMap[id] : 0;
     }
 
     public int getP(int id) {
-        return pMap[id];
+        return visited[id] == generation ? pMap[id] : 0;
     }
 }
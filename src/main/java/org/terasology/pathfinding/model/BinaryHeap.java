@@ -58,10 +58,12 @@ public class BinaryHeap {
 
     public int removeMin() {
         int min = heap[0];
-        heap[0] = heap[size - 1];
         itemToIndex[min] = -1;
-        resortDown(0);
         size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            resortDown(0);
+        }
         return min;
     }
 
@@ -88,10 +90,11 @@ public class BinaryHeap {
     protected void resortUp(int index) {
         int currentIndex = index;
         int value = heap[currentIndex];
-        while (currentIndex > 0 && comparator.compare(heap[currentIndex / 2], value) < 0) {
-            heap[currentIndex] = heap[currentIndex / 2];
-            itemToIndex[heap[currentIndex / 2]] = currentIndex;
-            currentIndex /= 2;
+        while (currentIndex > 0 && comparator.compare(heap[(currentIndex - 1) / 2], value) < 0) {
+            int parent = (currentIndex - 1) / 2;
+            heap[currentIndex] = heap[parent];
+            itemToIndex[heap[parent]] = currentIndex;
+            currentIndex = parent;
         }
         heap[currentIndex] = value;
         itemToIndex[value] = currentIndex;
@@ -105,7 +108,9 @@ public class BinaryHeap {
     }
 
     public void clear() {
+        for (int i = 0; i < size; i++) {
+            itemToIndex[heap[i]] = -1;
+        }
         size = 0;
-        Arrays.fill(itemToIndex, -1);
     }
 }
@@ -0,0 +1,191 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.navgraph.NavGraphChunk;
+import org.terasology.navgraph.WalkableBlock;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Paths found by the {@link Pathfinder}, by start and target block.
+ * <p/>
+ * The cache keeps at most its capacity of paths, if full, the least recently used path is dropped. Each path records the
+ * chunks it crosses, so a rebuild of a chunk drops exactly the paths, that hold blocks of the old chunk.
+ */
+public class BoundedPathCache {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final Map<Key, Entry> entries;
+    private final Map<Vector3i, Set<Key>> keysByChunk = Maps.newHashMap();
+    private long hits;
+    private long misses;
+
+    public BoundedPathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the maximum number of paths kept
+     */
+    public BoundedPathCache(final int capacity) {
+        entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > capacity) {
+                    unindex(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Path getCachedPath(WalkableBlock from, WalkableBlock to) {
+        Entry entry = entries.get(new Key(from, to));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.path;
+    }
+
+    /**
+     * Stores a path, partial paths are ignored.
+     */
+    public void insert(WalkableBlock from, WalkableBlock to, Path path) {
+        if (path.isPartial()) {
+            return;
+        }
+        List<WalkableBlock> nodes = path.copyNodes();
+        synchronized (this) {
+            Key key = new Key(from, to);
+            Entry previous = entries.get(key);
+            if (previous != null && previous.path == path) {
+                // another search was handed the cached path meanwhile
+                return;
+            }
+            entries.remove(key);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            Entry entry = new Entry(path);
+            index(key, entry, from);
+            index(key, entry, to);
+            index(key, entry, nodes);
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Drops the paths crossing the given chunk.
+     */
+    public synchronized void invalidate(Vector3ic chunkPos) {
+        Set<Key> keys = keysByChunk.remove(chunkPos);
+        if (keys == null) {
+            return;
+        }
+        for (Key key : keys) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                unindex(key, entry);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByChunk.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private void index(Key key, Entry entry, List<WalkableBlock> blocks) {
+        for (int i = 0; i < blocks.size(); i++) {
+            index(key, entry, blocks.get(i));
+        }
+    }
+
+    private void index(Key key, Entry entry, WalkableBlock block) {
+        if (block == null) {
+            return;
+        }
+        Vector3i worldPos = block.floor.navGraphChunk.worldPos;
+        Vector3i chunk = new Vector3i(worldPos.x / NavGraphChunk.SIZE_X, worldPos.y / NavGraphChunk.SIZE_Y,
+                worldPos.z / NavGraphChunk.SIZE_Z);
+        if (entry.chunks.add(chunk)) {
+            keysByChunk.computeIfAbsent(chunk, k -> Sets.newHashSet()).add(key);
+        }
+    }
+
+    private void unindex(Key key, Entry entry) {
+        for (Vector3i chunk : entry.chunks) {
+            Set<Key> keys = keysByChunk.get(chunk);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByChunk.remove(chunk);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return entries.size() + " paths, " + hits + " hits, " + misses + " misses";
+    }
+
+    /**
+     * Start and target of a path, compared by identity like the blocks.
+     */
+    private static final class Key {
+        private final WalkableBlock from;
+        private final WalkableBlock to;
+
+        private Key(WalkableBlock from, WalkableBlock to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return from == other.from && to == other.to;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(from) + System.identityHashCode(to);
+        }
+    }
+
+    private static final class Entry {
+        private final Path path;
+        private final Set<Vector3i> chunks = Sets.newHashSet();
+
+        private Entry(Path path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.navgraph.AbstractEdge;
+import org.terasology.navgraph.Cluster;
+import org.terasology.navgraph.ClusterGraph;
+import org.terasology.navgraph.Entrance;
+import org.terasology.navgraph.NavGraphChunk;
+import org.terasology.navgraph.WalkableBlock;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Top-down search for long distances.
+ * <p/>
+ * First finds a route over the border blocks of the {@link Cluster}s, then refines each leg of the route inside a
+ * cluster with {@link HAStar}. No search spans more than about a cluster, so the time of a query grows with the
+ * number of clusters crossed instead of the number of entrances.
+ * <p/>
+ * The costs from the start to the border blocks of its cluster, and from the border blocks of the target cluster to
+ * the target, are estimated from the entrances of the floors of start and target. The cost of reaching an entrance
+ * is taken as the Chebyshev distance, a lower bound of the walked distance, so the route may pick an entrance, that is
+ * close, but takes a detour to reach. Paths found are therefore not guaranteed to be the shortest, see
+ * {@link HAStar} for exact searches. The costs of the target are kept for the next search, so consecutive searches to
+ * the same target share them.
+ * <p/>
+ * All legs are refined by {@link #findPath}, so the returned path holds no reference to the searcher and the
+ * navigation graph is only read by the caller, that holds its read lock.
+ */
+public class ClusterSearch {
+    private static final int GOAL = 0;
+    /**
+     * Number of expanded border blocks between two checks of the cancellation flag.
+     */
+    private static final int CANCELLATION_INTERVAL = 256;
+
+    private final ClusterGraph graph;
+    private final HAStar refiner;
+
+    private final Map<WalkableBlock, Integer> nodeIds = Maps.newHashMap();
+    private final List<WalkableBlock> nodeBlocks = Lists.newArrayList();
+    private final List<Float> nodeG = Lists.newArrayList();
+    private final List<Integer> nodeParent = Lists.newArrayList();
+    private final List<AbstractEdge> nodeEdge = Lists.newArrayList();
+    private final FloatKeyedHeap openList = new FloatKeyedHeap();
+    private final BitSet closedList = new BitSet();
+    private WalkableBlock lastEnd;
+    private Cluster lastEndCluster;
+    private Map<WalkableBlock, Float> lastEndCosts;
+    private BooleanSupplier cancellation;
+    private boolean cancelled;
+
+    /**
+     * @param graph   the clusters
+     * @param refiner used to refine the legs inside the clusters
+     */
+    public ClusterSearch(ClusterGraph graph, HAStar refiner) {
+        this.graph = graph;
+        this.refiner = refiner;
+    }
+
+    /**
+     * @return true, if start and target are more than a cluster apart and the search should run top-down
+     */
+    public boolean isLongDistance(WalkableBlock start, WalkableBlock end) {
+        NavGraphChunk startChunk = start.floor.navGraphChunk;
+        NavGraphChunk endChunk = end.floor.navGraphChunk;
+        int dx = Math.abs(startChunk.worldPos.x - endChunk.worldPos.x) / NavGraphChunk.SIZE_X;
+        int dz = Math.abs(startChunk.worldPos.z - endChunk.worldPos.z) / NavGraphChunk.SIZE_Z;
+        return Math.max(dx, dz) > Cluster.SIZE;
+    }
+
+    public Path findPath(WalkableBlock start, WalkableBlock end) {
+        return findPath(start, end, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * The budget is shared by the refinements of all legs. If it runs out, the returned path is partial and ends with
+     * the partial path of the current leg.
+     *
+     * @return the path in the same order as {@link HAStar#getPath()} or null, if no path was found
+     */
+    public Path findPath(WalkableBlock start, WalkableBlock end, SearchBudget budget) {
+        return findPath(start, end, budget, null);
+    }
+
+    /**
+     * Like {@link #findPath(WalkableBlock, WalkableBlock, SearchBudget)}, but stops, once the given flag returns true.
+     * The flag is checked periodically by the route search and by the refinement of each leg.
+     *
+     * @param cancellation the flag or null, if the search runs to the end
+     * @return the path or null, if no path was found or the search was cancelled, see {@link #isCancelled()}
+     */
+    public Path findPath(WalkableBlock start, WalkableBlock end, SearchBudget budget, BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+        cancelled = false;
+        try {
+            return search(start, end, budget);
+        } finally {
+            this.cancellation = null;
+        }
+    }
+
+    /**
+     * @return true, if the last search was stopped by its cancellation flag
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private Path search(WalkableBlock start, WalkableBlock end, SearchBudget budget) {
+        long startNanos = System.nanoTime();
+        List<WalkableBlock> route = findRoute(start, end);
+        if (route == null) {
+            return null;
+        }
+        int expandedNodes = 0;
+        boolean partial = false;
+        List<Path> legPaths = Lists.newArrayList();
+        WalkableBlock from = start;
+        for (int i = 0; i <= route.size(); i++) {
+            WalkableBlock to = i < route.size() ? route.get(i) : end;
+            AbstractEdge edge = i > 0 && i < route.size() ? nodeEdge.get(nodeIds.get(to)) : null;
+            Path legPath;
+            if (edge != null && !graph.getCluster(from).contains(to)) {
+                // crosses into the next cluster
+                legPath = edge.path;
+                if (legPath == null) {
+                    legPath = new Path();
+                    legPath.add(from);
+                }
+            } else {
+                if (checkCancelled()) {
+                    return null;
+                }
+                legPath = refine(from, to, budget.remaining(expandedNodes, System.nanoTime() - startNanos));
+                if (legPath == null) {
+                    return null;
+                }
+                expandedNodes += refiner.getExpandedNodes();
+            }
+            legPaths.add(legPath);
+            from = to;
+            if (legPath.isPartial()) {
+                partial = true;
+                break;
+            }
+        }
+        Path path = new Path();
+        for (Path legPath : Lists.reverse(legPaths)) {
+            path.addAll(legPath.getNodes());
+        }
+        path.setPartial(partial);
+        return path;
+    }
+
+    private Path refine(WalkableBlock from, WalkableBlock to, SearchBudget budget) {
+        if (from == to) {
+            return new Path();
+        }
+        refiner.reset();
+        refiner.setCancellation(cancellation);
+        if (refiner.run(from, to, budget)) {
+            return refiner.getPath();
+        }
+        if (refiner.isBudgetExhausted()) {
+            return refiner.getPartialPath();
+        }
+        cancelled = refiner.getStatus() == HAStar.Status.CANCELLED;
+        return null;
+    }
+
+    private boolean checkCancelled() {
+        if (cancellation != null && cancellation.getAsBoolean()) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+
+    /**
+     * @return the costs from the border blocks of the target cluster to the target, computed again, once the target or
+     * its cluster was rebuilt
+     */
+    private Map<WalkableBlock, Float> findEndCosts(WalkableBlock end, Cluster endCluster) {
+        if (end != lastEnd || endCluster != lastEndCluster) {
+            lastEndCosts = endCluster.findBorderCosts(findEntranceCosts(end));
+            lastEnd = end;
+            lastEndCluster = endCluster;
+        }
+        return lastEndCosts;
+    }
+
+    /**
+     * Searches the border blocks of the clusters.
+     *
+     * @return the border blocks from the start cluster to the target cluster or null, if no route was found
+     */
+    private List<WalkableBlock> findRoute(WalkableBlock start, WalkableBlock end) {
+        reset();
+        Cluster startCluster = graph.getCluster(start);
+        Cluster endCluster = graph.getCluster(end);
+        Map<WalkableBlock, Float> endCosts = findEndCosts(end, endCluster);
+        if (endCosts.isEmpty()) {
+            return null;
+        }
+        create(end);
+        nodeG.set(GOAL, Float.MAX_VALUE);
+        for (Map.Entry<WalkableBlock, Float> entry : startCluster.findBorderCosts(findEntranceCosts(start)).entrySet()) {
+            int id = create(entry.getKey());
+            nodeG.set(id, entry.getValue());
+            openList.insert(id, entry.getValue() + h(entry.getKey(), end));
+        }
+
+        int expansions = 0;
+        while (!openList.isEmpty()) {
+            if (expansions++ % CANCELLATION_INTERVAL == 0 && checkCancelled()) {
+                return null;
+            }
+            int current = openList.removeMin();
+            if (current == GOAL) {
+                List<WalkableBlock> route = Lists.newArrayList();
+                for (int id = nodeParent.get(GOAL); id != -1; id = nodeParent.get(id)) {
+                    route.add(nodeBlocks.get(id));
+                }
+                return Lists.reverse(route);
+            }
+            closedList.set(current);
+            WalkableBlock block = nodeBlocks.get(current);
+            Float endCost = endCosts.get(block);
+            if (endCost != null) {
+                relax(current, GOAL, nodeG.get(current) + endCost, null, 0);
+            }
+            List<AbstractEdge> edges = graph.getCluster(block).getEdges(block);
+            if (edges == null) {
+                continue;
+            }
+            for (AbstractEdge edge : edges) {
+                int successor = create(edge.target);
+                if (!closedList.get(successor)) {
+                    relax(current, successor, nodeG.get(current) + edge.cost, edge, h(edge.target, end));
+                }
+            }
+        }
+        return null;
+    }
+
+    private void relax(int current, int successor, float g, AbstractEdge edge, float h) {
+        if (g >= nodeG.get(successor)) {
+            return;
+        }
+        nodeG.set(successor, g);
+        nodeParent.set(successor, current);
+        nodeEdge.set(successor, edge);
+        if (openList.contains(successor)) {
+            openList.update(successor, g + h);
+        } else {
+            openList.insert(successor, g + h);
+        }
+    }
+
+    /**
+     * Entry points of a block into the abstract graph: the abstract blocks of the entrances of its floor.
+     */
+    private Map<WalkableBlock, Float> findEntranceCosts(WalkableBlock block) {
+        Map<WalkableBlock, Float> costs = Maps.newHashMap();
+        for (Entrance entrance : block.floor.entrances()) {
+            WalkableBlock abstractBlock = entrance.getAbstractBlock();
+            if (abstractBlock != null) {
+                costs.put(abstractBlock, h(block, abstractBlock));
+            }
+        }
+        return costs;
+    }
+
+    private float h(WalkableBlock from, WalkableBlock to) {
+        // every step costs at least 1 and moves at most one block along x and z
+        return Math.max(Math.abs(from.x() - to.x()), Math.abs(from.z() - to.z()));
+    }
+
+    private int create(WalkableBlock block) {
+        Integer id = nodeIds.get(block);
+        if (id != null) {
+            return id;
+        }
+        id = nodeBlocks.size();
+        nodeIds.put(block, id);
+        nodeBlocks.add(block);
+        nodeG.add(Float.MAX_VALUE);
+        nodeParent.add(-1);
+        nodeEdge.add(null);
+        return id;
+    }
+
+    private void reset() {
+        nodeIds.clear();
+        nodeBlocks.clear();
+        nodeG.clear();
+        nodeParent.clear();
+        nodeEdge.clear();
+        openList.clear();
+        closedList.clear();
+    }
+}
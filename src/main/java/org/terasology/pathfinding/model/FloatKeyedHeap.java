@@ -0,0 +1,168 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of int items ordered by float keys.
+ * <p/>
+ * Unlike {@link BinaryHeap} the priorities are stored in the heap itself, next to the items, so sifting only
+ * touches the two primitive arrays and never calls back into the searcher. Items are expected to be small,
+ * dense ids; {@code itemToIndex} maps each item to its heap slot for contains and decrease-key. Both the heap and
+ * the index grow on demand.
+ */
+public class FloatKeyedHeap implements OpenList {
+    private static final int DEFAULT_CAPACITY = 1000;
+    private static final int DEFAULT_INDEX_SIZE = 1024;
+    private int[] heap;
+    private float[] keys;
+    private int[] itemToIndex;
+    private int size;
+
+    public FloatKeyedHeap() {
+        this(DEFAULT_CAPACITY, DEFAULT_INDEX_SIZE);
+    }
+
+    public FloatKeyedHeap(int capacity, int indexSize) {
+        heap = new int[capacity];
+        keys = new float[capacity];
+        itemToIndex = new int[indexSize];
+        Arrays.fill(itemToIndex, -1);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return item < itemToIndex.length && itemToIndex[item] > -1;
+    }
+
+    /**
+     * @return the key of a queued item
+     */
+    public float getKey(int item) {
+        return keys[itemToIndex[item]];
+    }
+
+    /**
+     * @return the smallest key in the heap, the heap must not be empty
+     */
+    public float getMinKey() {
+        return keys[0];
+    }
+
+    @Override
+    public void insert(int item, float key) {
+        if (heap.length <= size) {
+            enlarge(heap.length * 2);
+        }
+        if (item >= itemToIndex.length) {
+            enlargeIndex(Math.max(item + 1, itemToIndex.length * 2));
+        }
+        int last = size;
+        size++;
+        resortUp(last, item, key);
+    }
+
+    @Override
+    public void update(int item, float key) {
+        int index = itemToIndex[item];
+        if (key < keys[index]) {
+            resortUp(index, item, key);
+        } else {
+            resortDown(index, item, key);
+        }
+    }
+
+    @Override
+    public int removeMin() {
+        int min = heap[0];
+        itemToIndex[min] = -1;
+        size--;
+        if (size > 0) {
+            resortDown(0, heap[size], keys[size]);
+        }
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            itemToIndex[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    @Override
+    public void shrink(int capacity) {
+        if (heap.length > capacity) {
+            heap = new int[capacity];
+            keys = new float[capacity];
+        }
+        if (itemToIndex.length > capacity) {
+            itemToIndex = new int[capacity];
+            Arrays.fill(itemToIndex, -1);
+        }
+    }
+
+    private void resortUp(int index, int item, float key) {
+        int currentIndex = index;
+        while (currentIndex > 0) {
+            int parent = (currentIndex - 1) / 2;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, currentIndex);
+            currentIndex = parent;
+        }
+        set(currentIndex, item, key);
+    }
+
+    private void resortDown(int index, int item, float key) {
+        int currentIndex = index;
+        while (currentIndex * 2 + 1 < size) {
+            int child = currentIndex * 2 + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            move(child, currentIndex);
+            currentIndex = child;
+        }
+        set(currentIndex, item, key);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        itemToIndex[heap[to]] = to;
+    }
+
+    private void set(int index, int item, float key) {
+        heap[index] = item;
+        keys[index] = key;
+        itemToIndex[item] = index;
+    }
+
+    private void enlarge(int newSize) {
+        heap = Arrays.copyOf(heap, Math.max(newSize, 1));
+        keys = Arrays.copyOf(keys, heap.length);
+    }
+
+    private void enlargeIndex(int newSize) {
+        int oldSize = itemToIndex.length;
+        itemToIndex = Arrays.copyOf(itemToIndex, newSize);
+        Arrays.fill(itemToIndex, oldSize, newSize, -1);
+    }
+}
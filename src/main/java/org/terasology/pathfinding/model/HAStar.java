@@ -4,53 +4,156 @@ package org.terasology.pathfinding.model;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import org.joml.Vector3i;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.navgraph.AbstractEdge;
 import org.terasology.navgraph.BitMap;
 import org.terasology.navgraph.Entrance;
 import org.terasology.navgraph.Floor;
+import org.terasology.navgraph.NavGraphChunk;
 import org.terasology.navgraph.WalkableBlock;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 /**
  * @author synopia
  */
 public class HAStar {
+    /**
+     * State of a search started by {@link #start(WalkableBlock, WalkableBlock, SearchBudget)}.
+     */
+    public enum Status {
+        /**
+         * The search yielded and continues with the next {@link #step(int)}.
+         */
+        RUNNING,
+        FOUND,
+        NOT_FOUND,
+        /**
+         * The search ran out of budget or reached the node limit, see {@link #getPartialPath()}.
+         */
+        BUDGET_EXHAUSTED,
+        /**
+         * The search was stopped by its cancellation flag, see {@link #setCancellation(BooleanSupplier)}.
+         */
+        CANCELLED
+    }
+
     private static final Logger logger = LoggerFactory.getLogger(HAStar.class);
     private static final int MAX_NODES = 64 * 1024;
+    /**
+     * Initial size of the search buffers, they grow on demand.
+     */
+    private static final int INITIAL_NODES = 1024;
+    /**
+     * Buffers grown beyond this number of nodes are released again, when the next search starts.
+     */
+    private static final int SHRINK_THRESHOLD = 8 * 1024;
+    /**
+     * Number of expansions between two checks of the cancellation flag.
+     */
+    private static final int CANCELLATION_INTERVAL = 256;
     private Path localPath;
     private HAStar localAStar;
+    /**
+     * Searches local paths missing in the path cache of a chunk.
+     */
+    private final PathCache.Callback localSearch = (from, to) -> {
+        HAStar local = getLocalAStar();
+        local.reset();
+        if (local.run(from, to)) {
+            return local.getPath();
+        }
+        return Path.INVALID;
+    };
 
-    private List<Node> nodes = Lists.newArrayList();
+    /*
+     * Search state of the nodes, indexed by node id. Node ids are assigned in the order the blocks are reached.
+     */
+    private int nodeCount;
+    private WalkableBlock[] nodeBlocks = new WalkableBlock[INITIAL_NODES];
+    private float[] nodeG = new float[INITIAL_NODES];
+    private float[] nodeF = new float[INITIAL_NODES];
+    private int[] nodeParent = new int[INITIAL_NODES];
+    /**
+     * Index into {@link #localPaths} of the local path, that leads from the parent to the node, or -1.
+     */
+    private int[] nodePath = new int[INITIAL_NODES];
+    /**
+     * The expansion, that last reached the node. Skips neighbors reached twice by one expansion.
+     */
+    private int[] nodeStamp = new int[INITIAL_NODES];
+    private int expansionStamp;
+    private List<Path> localPaths = Lists.newArrayList();
 
-    private Map<WalkableBlock, Integer> nodeMap = Maps.newHashMap();
+    /**
+     * Maps the {@link WalkableBlock#id} of the blocks of each visited chunk to node ids. Entries are verified against
+     * the block of the node, so tables are reused without clearing.
+     */
+    private Map<NavGraphChunk, int[]> nodeTables = Maps.newIdentityHashMap();
+    private List<int[]> nodeTablePool = Lists.newArrayList();
+    private NavGraphChunk lastChunk;
+    private int[] lastNodeTable;
     private int start;
+    /**
+     * The first goal.
+     */
     private int end;
+    /*
+     * The goals of the search, the search ends once all of them are settled.
+     */
+    private int[] goals = new int[1];
+    private int goalCount;
+    private int settledGoals;
+    private BitSet goalNodes = new BitSet();
+    private BitSet settledNodes = new BitSet();
+    private List<NavGraphChunk> goalChunks = Lists.newArrayList();
+    /**
+     * The reached node with the smallest heuristic, target of the partial path.
+     */
+    private int closest;
+    private float closestH;
+    private int expandedNodes;
+    private SearchBudget budget;
+    private BooleanSupplier cancellation;
+    /**
+     * Time spent in {@link #step(int)} so far, time between the steps is not counted against the budget.
+     */
+    private long searchNanos;
+    private Status status = Status.NOT_FOUND;
     private int cacheHits;
     private int localPathsUsed;
-    private BinaryHeap openList;
+    private OpenList openList;
+    private OpenList.Type openListType;
 
-    private BitSet closedList = new BitSet(16 * 1024);
+    private BitSet closedList = new BitSet(INITIAL_NODES);
     private boolean useContour;
+    private boolean consistentHeuristic;
     private LineOfSight lineOfSight;
 
     public HAStar(LineOfSight lineOfSight, boolean useContour) {
+        this(lineOfSight, useContour, OpenList.Type.BINARY_HEAP);
+    }
+
+    /**
+     * @param lineOfSight  used to shortcut paths (theta*), may be null
+     * @param useContour   if true, chunks other than the start and end chunk are crossed using floor entrances only
+     * @param openListType the priority queue used for the open list, also used by the local searcher
+     */
+    public HAStar(LineOfSight lineOfSight, boolean useContour, OpenList.Type openListType) {
         this.lineOfSight = lineOfSight;
         this.useContour = useContour;
-        openList = new BinaryHeap((a, b) -> {
-            float fA = nodes.get(a).f;
-            float fB = nodes.get(b).f;
-            return -(fA < fB ? -1 : (fA > fB ? 1 : 0));
-        }, MAX_NODES, MAX_NODES);
-        if (useContour) {
-            localAStar = new HAStar(null, false);
-        }
+        this.openListType = openListType;
+        openList = openListType.create(INITIAL_NODES, INITIAL_NODES);
+        consistentHeuristic = openListType.isMonotone();
     }
 
     public HAStar(LineOfSight lineOfSight) {
@@ -58,211 +161,550 @@ public class HAStar {
     }
 
     public void reset() {
-        nodes.clear();
-        nodeMap.clear();
-        closedList.clear();
+        status = Status.NOT_FOUND;
+        cancellation = null;
         openList.clear();
+        if (nodeCount > SHRINK_THRESHOLD) {
+            shrink();
+        } else {
+            Arrays.fill(nodeBlocks, 0, nodeCount, null);
+            closedList.clear();
+        }
+        nodeCount = 0;
+        localPaths.clear();
+        nodeTables.clear();
+        lastChunk = null;
+        lastNodeTable = null;
         cacheHits = 0;
     }
 
+    /**
+     * Releases the search buffers down to their initial size. Called by {@link #reset()} after huge searches, so a
+     * single long search does not pin its memory for the lifetime of this searcher.
+     */
+    private void shrink() {
+        nodeBlocks = new WalkableBlock[INITIAL_NODES];
+        nodeG = new float[INITIAL_NODES];
+        nodeF = new float[INITIAL_NODES];
+        nodeParent = new int[INITIAL_NODES];
+        nodePath = new int[INITIAL_NODES];
+        nodeStamp = new int[INITIAL_NODES];
+        nodeTablePool = Lists.newArrayList();
+        closedList = new BitSet(INITIAL_NODES);
+        openList.shrink(INITIAL_NODES);
+    }
+
+    private HAStar getLocalAStar() {
+        if (localAStar == null) {
+            localAStar = new HAStar(null, false, openListType);
+        }
+        return localAStar;
+    }
+
     private int create(WalkableBlock block) {
-        Integer id = nodeMap.get(block);
-        if (id != null) {
+        int[] nodeTable = getNodeTable(block.floor.navGraphChunk);
+        int id = nodeTable[block.id];
+        if (id < nodeCount && nodeBlocks[id] == block) {
             return id;
         }
-        Node node = new Node();
-        node.block = block;
-        node.id = nodes.size();
-        nodes.add(node);
-        nodeMap.put(block, node.id);
-        return node.id;
+        id = nodeCount++;
+        if (id == nodeBlocks.length) {
+            enlarge(id * 2);
+        }
+        nodeBlocks[id] = block;
+        nodeG[id] = 0;
+        nodeF[id] = 0;
+        nodeParent[id] = -1;
+        nodePath[id] = -1;
+        nodeStamp[id] = expansionStamp - 1;
+        nodeTable[block.id] = id;
+        return id;
+    }
+
+    private void enlarge(int newSize) {
+        nodeBlocks = Arrays.copyOf(nodeBlocks, newSize);
+        nodeG = Arrays.copyOf(nodeG, newSize);
+        nodeF = Arrays.copyOf(nodeF, newSize);
+        nodeParent = Arrays.copyOf(nodeParent, newSize);
+        nodePath = Arrays.copyOf(nodePath, newSize);
+        nodeStamp = Arrays.copyOf(nodeStamp, newSize);
+    }
+
+    private int[] getNodeTable(NavGraphChunk chunk) {
+        if (chunk == lastChunk) {
+            return lastNodeTable;
+        }
+        int[] nodeTable = nodeTables.get(chunk);
+        if (nodeTable == null) {
+            int size = chunk.walkableBlocks.size();
+            int poolIndex = nodeTables.size();
+            if (poolIndex == nodeTablePool.size()) {
+                nodeTablePool.add(new int[size]);
+            } else if (nodeTablePool.get(poolIndex).length < size) {
+                nodeTablePool.set(poolIndex, new int[size]);
+            }
+            nodeTable = nodeTablePool.get(poolIndex);
+            nodeTables.put(chunk, nodeTable);
+        }
+        lastChunk = chunk;
+        lastNodeTable = nodeTable;
+        return nodeTable;
     }
 
     public boolean run(WalkableBlock startBlock, WalkableBlock endBlock) {
+        return run(startBlock, endBlock, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Searches a path, until the target is found or the budget is exhausted. In the latter case
+     * {@link #isBudgetExhausted()} returns true and {@link #getPartialPath()} leads towards the target.
+     *
+     * @return true, if a path to the target was found
+     */
+    public boolean run(WalkableBlock startBlock, WalkableBlock endBlock, SearchBudget budget) {
+        start(startBlock, endBlock, budget);
+        return step(Integer.MAX_VALUE) == Status.FOUND;
+    }
+
+    /**
+     * Starts a search, that is run by calls to {@link #step(int)}. The searcher must not be used for other searches
+     * until the search is finished.
+     */
+    public void start(WalkableBlock startBlock, WalkableBlock endBlock, SearchBudget searchBudget) {
+        this.start = create(startBlock);
+        clearGoals();
+        addGoal(endBlock);
+        startSearch(searchBudget);
+    }
+
+    /**
+     * Starts a search from one block to several goals, that is run by calls to {@link #step(int)}. The search ends,
+     * once the shortest paths to all goals are known, the paths are read by {@link #getPathFrom(WalkableBlock)}.
+     * <p/>
+     * Used to search paths from several starts to one target at once: the search runs backwards from the target.
+     */
+    public void start(WalkableBlock startBlock, List<WalkableBlock> goalBlocks, SearchBudget searchBudget) {
         this.start = create(startBlock);
-        this.end = create(endBlock);
+        clearGoals();
+        for (int i = 0; i < goalBlocks.size(); i++) {
+            addGoal(goalBlocks.get(i));
+        }
+        startSearch(searchBudget);
+    }
+
+    public boolean run(WalkableBlock startBlock, List<WalkableBlock> goalBlocks, SearchBudget searchBudget) {
+        start(startBlock, goalBlocks, searchBudget);
+        return step(Integer.MAX_VALUE) == Status.FOUND;
+    }
+
+    private void clearGoals() {
+        goalCount = 0;
+        settledGoals = 0;
+        goalNodes.clear();
+        settledNodes.clear();
+        goalChunks.clear();
+    }
+
+    private void addGoal(WalkableBlock goalBlock) {
+        int goal = create(goalBlock);
+        if (goalNodes.get(goal)) {
+            return;
+        }
+        if (goalCount == 0) {
+            end = goal;
+        }
+        if (goalCount == goals.length) {
+            goals = Arrays.copyOf(goals, goalCount * 2);
+        }
+        goals[goalCount++] = goal;
+        goalNodes.set(goal);
+        if (!goalChunks.contains(goalBlock.floor.navGraphChunk)) {
+            goalChunks.add(goalBlock.floor.navGraphChunk);
+        }
+    }
+
+    private void startSearch(SearchBudget searchBudget) {
+        budget = searchBudget;
+        expandedNodes = 0;
+        searchNanos = 0;
+        status = Status.RUNNING;
+        closest = start;
+        closestH = h(start);
 
-        openList.insert(this.start);
+        openList.insert(this.start, nodeF[this.start]);
+    }
 
-        int maxSize = 0;
-        int current = -1;
-        while (!openList.isEmpty()) {
-            current = openList.removeMin();
-            if (current == this.end) {
+    /**
+     * Continues the started search for at most the given number of node expansions.
+     *
+     * @return {@link Status#RUNNING}, if the search yielded, or the final state of the search
+     */
+    public Status step(int maxExpansions) {
+        if (status != Status.RUNNING) {
+            return status;
+        }
+        long sliceStart = System.nanoTime();
+        int expansions = 0;
+        while (status == Status.RUNNING) {
+            if (openList.isEmpty()) {
+                status = Status.NOT_FOUND;
+                break;
+            }
+            if (expansions == maxExpansions) {
+                break;
+            }
+            int current = openList.removeMin();
+            if (goalNodes.get(current)) {
+                settledNodes.set(current);
+                settledGoals++;
+                if (settledGoals == goalCount) {
+                    status = Status.FOUND;
+                    break;
+                }
+            }
+            if (nodeCount > MAX_NODES - MAX_NODES / 10) {
+                logger.info("stop hpa*... nodes: " + nodeCount);
+                status = Status.BUDGET_EXHAUSTED;
+                break;
+            }
+            if (budget.isExhausted(expandedNodes, sliceStart - searchNanos)) {
+                status = Status.BUDGET_EXHAUSTED;
                 break;
             }
-            if (nodes.size() > MAX_NODES - MAX_NODES / 10) {
-                logger.info("stop hpa*... nodes: " + nodes.size());
+            if (cancellation != null && expansions % CANCELLATION_INTERVAL == 0 && cancellation.getAsBoolean()) {
+                status = Status.CANCELLED;
                 break;
             }
             expand(current);
             closedList.set(current);
-
-            if (openList.getSize() > maxSize) {
-                maxSize = openList.getSize();
-            }
+            expandedNodes++;
+            expansions++;
         }
-        return current == this.end;
+        searchNanos += System.nanoTime() - sliceStart;
+        return status;
+    }
+
+    /**
+     * Sets a flag, that is checked while the search runs, until the searcher is reset. Once it returns true, the
+     * search stops with {@link Status#CANCELLED}.
+     */
+    public void setCancellation(BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * @return the chunks of the blocks reached by the current search, until the searcher is reset
+     */
+    public Set<NavGraphChunk> getVisitedChunks() {
+        return Collections.unmodifiableSet(nodeTables.keySet());
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return true, if the last search stopped, because it ran out of budget or reached the node limit
+     */
+    public boolean isBudgetExhausted() {
+        return status == Status.BUDGET_EXHAUSTED;
+    }
+
+    public int getExpandedNodes() {
+        return expandedNodes;
     }
 
     public Path getPath() {
+        return getPath(end, false);
+    }
+
+    /**
+     * @return true, if the shortest path to the given goal is known
+     */
+    public boolean isSettled(WalkableBlock goal) {
+        int node = find(goal);
+        return node != -1 && settledNodes.get(node);
+    }
+
+    /**
+     * Reads the path to a goal of a search with several goals, in the order of a search from the goal to the start.
+     * The start is not part of the path, the goal is.
+     *
+     * @return the path or {@link Path#INVALID}, if the goal is not settled
+     */
+    public Path getPathFrom(WalkableBlock goal) {
+        if (!isSettled(goal)) {
+            return Path.INVALID;
+        }
+        List<WalkableBlock> blocks = Lists.newArrayList();
+        List<Path> segments = Lists.newArrayList();
+        collectChain(find(goal), blocks, segments);
+        blocks = Lists.reverse(blocks);
+        segments = Lists.reverse(segments);
+        List<WalkableBlock> waypoints = blocks.size() > 1 ? blocks.subList(1, blocks.size()) : blocks;
+        return new Path(copyLocalPaths(blocks, segments, true, false), waypoints);
+    }
+
+    /**
+     * @return the node of the block or -1, if the block was not reached
+     */
+    private int find(WalkableBlock block) {
+        int[] nodeTable = nodeTables.get(block.floor.navGraphChunk);
+        if (nodeTable == null) {
+            return -1;
+        }
+        int id = nodeTable[block.id];
+        return id < nodeCount && nodeBlocks[id] == block ? id : -1;
+    }
+
+    /**
+     * Unlike {@link #getPath()}, which leaves out the goal, the partial path starts with the reached node closest to
+     * the goal, as that is the block to walk to first. Like {@link #getPath()}, it ends with the start of the search.
+     *
+     * @return the path from the reached node closest to the goal, flagged as partial
+     */
+    public Path getPartialPath() {
+        Path path = getPath(closest, true);
+        path.setPartial(true);
+        return path;
+    }
+
+    /**
+     * The path is copied from the local paths, that lead to the nodes of the chain.
+     *
+     * @param includeTarget if false, the given node itself is not part of the path, unless it is the start
+     */
+    private Path getPath(int target, boolean includeTarget) {
+        List<WalkableBlock> blocks = Lists.newArrayList();
+        List<Path> segments = Lists.newArrayList();
+        collectChain(target, blocks, segments);
+        List<WalkableBlock> waypoints = blocks.size() > 1 && !includeTarget ? blocks.subList(1, blocks.size()) : blocks;
+        return new Path(copyLocalPaths(blocks, segments, false, includeTarget), waypoints);
+    }
+
+    /**
+     * Collects the nodes from the given one back to the start, and the local paths leading to them.
+     */
+    private void collectChain(int target, List<WalkableBlock> blocks, List<Path> segments) {
         localPathsUsed = 0;
-        Path path = new Path();
-        Node startNode = nodes.get(this.start);
-        Node current = nodes.get(end);
-        while (current != startNode && current != null) {
-            if (current.path != null) {
-                path.addAll(current.path.getNodes());
+        int current = target;
+        while (current != start && current != -1) {
+            blocks.add(nodeBlocks[current]);
+            if (nodePath[current] != -1) {
+                segments.add(localPaths.get(nodePath[current]));
                 localPathsUsed++;
             } else {
-                path.add(current.block);
+                segments.add(null);
             }
-            current = current.p;
+            current = nodeParent[current];
         }
-        if (path.size() > 0) {
-            path.remove(0);
-        }
-        path.add(startNode.block);
-        return path;
+        blocks.add(nodeBlocks[start]);
+        segments.add(null);
     }
 
     protected void expand(int current) {
-        Node currentNode = nodes.get(current);
-        Floor currentFloor = currentNode.block.floor;
-        Set<WalkableBlock> neighbors = Sets.newHashSet();
-        boolean onEndHeightMap = nodes.get(end).block.floor.navGraphChunk == currentFloor.navGraphChunk;
-        boolean onStartHeightMap = nodes.get(start).block.floor.navGraphChunk == currentFloor.navGraphChunk;
+        WalkableBlock currentBlock = nodeBlocks[current];
+        Floor currentFloor = currentBlock.floor;
+        expansionStamp++;
+        boolean onEndHeightMap = goalChunks.contains(currentFloor.navGraphChunk);
+        boolean onStartHeightMap = nodeBlocks[start].floor.navGraphChunk == currentFloor.navGraphChunk;
         if (!useContour || onEndHeightMap || onStartHeightMap) {
             // normal A* if on start or end height map
-            for (WalkableBlock neighbor : currentNode.block.neighbors) {
-                if (neighbor == null) {
-                    continue;
+            WalkableBlock[] neighbors = currentBlock.neighbors;
+            for (int i = 0; i < neighbors.length; i++) {
+                if (neighbors[i] != null) {
+                    expandNeighbor(current, neighbors[i], null);
                 }
-                neighbors.add(neighbor);
             }
-        } else {
-            // otherwise use entrances of other floor
-            for (Floor neighborFloor : currentFloor.neighborRegions) {
-                for (Entrance neighborEntrance : neighborFloor.entrances()) {
-                    neighbors.add(neighborEntrance.getAbstractBlock());
-                }
+            return;
+        }
+        List<AbstractEdge> edges = currentFloor.getAbstractEdges(currentBlock);
+        if (edges != null) {
+            // entrances are connected by the precomputed abstract graph
+            for (int i = 0; i < edges.size(); i++) {
+                AbstractEdge edge = edges.get(i);
+                expandNeighbor(current, edge.target, edge);
             }
+            return;
         }
-
-        for (WalkableBlock neighbor : neighbors) {
-            expandNeighbor(current, currentNode, neighbor);
+        Entrance entrance = currentFloor.getEntrance(currentBlock);
+        WalkableBlock entranceBlock = entrance != null ? entrance.getAbstractBlock() : null;
+        if (entranceBlock != null && currentFloor.getAbstractEdges(entranceBlock) != null) {
+            // other blocks of an entrance join the abstract graph at the abstract block of the entrance
+            expandNeighbor(current, entranceBlock, null);
+            return;
+        }
+        // otherwise use entrances of other floor
+        for (Floor neighborFloor : currentFloor.neighborRegions) {
+            List<Entrance> entrances = neighborFloor.entrances();
+            for (int i = 0; i < entrances.size(); i++) {
+                WalkableBlock abstractBlock = entrances.get(i).getAbstractBlock();
+                if (abstractBlock != null) {
+                    expandNeighbor(current, abstractBlock, null);
+                }
+            }
         }
     }
 
-    private void expandNeighbor(int current, Node currentNode, WalkableBlock neighbor) {
+    /**
+     * @param edge the abstract edge leading to the neighbor, or null to compute the costs lazily
+     */
+    private void expandNeighbor(int current, WalkableBlock neighbor, AbstractEdge edge) {
         int successor = create(neighbor);
-        if (closedList.get(successor)) {
+        if (closedList.get(successor) || nodeStamp[successor] == expansionStamp) {
             return;
         }
-        Node successorNode = nodes.get(successor);
+        nodeStamp[successor] = expansionStamp;
         if (!openList.contains(successor)) {
-            successorNode.g = Float.MAX_VALUE;
-            successorNode.path = null;
-            successorNode.p = null;
+            nodeG[successor] = Float.MAX_VALUE;
+            nodePath[successor] = -1;
+            nodeParent[successor] = -1;
         }
-        updateNode(current, currentNode, successor, successorNode);
+        updateNode(current, successor, edge);
     }
 
-    private void updateNode(int current, Node currentNode, int successor, Node successorNode) {
-        float oldG = successorNode.g;
-        computeCosts(current, currentNode, successor, successorNode);
-        if (successorNode.g <= oldG) {
+    private void updateNode(int current, int successor, AbstractEdge edge) {
+        float oldG = nodeG[successor];
+        computeCosts(current, successor, edge);
+        if (nodeG[successor] <= oldG) {
             if (openList.contains(successor)) {
-                openList.update(successor);
+                openList.update(successor, nodeF[successor]);
             } else {
-                openList.insert(successor);
+                openList.insert(successor, nodeF[successor]);
             }
         }
     }
 
-    private void computeCosts(int current, Node currentNode, int successor, Node successorNode) {
-        if (lineOfSight != null && currentNode.p != null && lineOfSight.inSight(currentNode.p.block, successorNode.block)) {
-            float tentativeG = currentNode.p.g + c(currentNode.p.id, successor, true);
-            if (tentativeG <= successorNode.g) {
-                successorNode.path = null;
-                successorNode.p = currentNode.p;
-                successorNode.g = tentativeG;
-                successorNode.f = tentativeG + h(successor);
+    private void computeCosts(int current, int successor, AbstractEdge edge) {
+        int parent = nodeParent[current];
+        if (lineOfSight != null && parent != -1 && lineOfSight.inSight(nodeBlocks[parent], nodeBlocks[successor])) {
+            float tentativeG = nodeG[parent] + c(parent, successor, true);
+            if (tentativeG <= nodeG[successor]) {
+                nodePath[successor] = -1;
+                nodeParent[successor] = parent;
+                nodeG[successor] = tentativeG;
+                nodeF[successor] = tentativeG + heuristic(successor);
             }
         } else {
-            float tentativeG = currentNode.g + c(current, successor, false);
-            if (tentativeG <= successorNode.g) {
-                successorNode.path = localPath;
-                successorNode.p = currentNode;
-                successorNode.g = tentativeG;
-                successorNode.f = tentativeG + h(successor);
+            float tentativeG;
+            Path path;
+            if (edge != null) {
+                tentativeG = nodeG[current] + edge.cost;
+                path = edge.path;
+            } else {
+                tentativeG = nodeG[current] + c(current, successor, false);
+                path = localPath;
+            }
+            if (tentativeG <= nodeG[successor]) {
+                nodePath[successor] = addLocalPath(path);
+                nodeParent[successor] = current;
+                nodeG[successor] = tentativeG;
+                nodeF[successor] = tentativeG + heuristic(successor);
             }
         }
     }
 
+    /**
+     * Computes the heuristic of a node, that just got a parent, and remembers the closest such node.
+     */
+    private float heuristic(int node) {
+        float h = h(node);
+        if (h < closestH) {
+            closest = node;
+            closestH = h;
+        }
+        return h;
+    }
+
+    private int addLocalPath(Path path) {
+        if (path == null) {
+            return -1;
+        }
+        localPaths.add(path);
+        return localPaths.size() - 1;
+    }
+
     protected float c(int from, int to, boolean inSight) {
         localPath = null;
-        Node fromNode = nodes.get(from);
-        Node toNode = nodes.get(to);
+        WalkableBlock fromBlock = nodeBlocks[from];
+        WalkableBlock toBlock = nodeBlocks[to];
         if (inSight) {
-            Vector3i dist = new Vector3i(fromNode.block.getBlockPosition());
-            dist.sub(toNode.block.getBlockPosition());
-            return (float) dist.length();
+            int dx = fromBlock.x() - toBlock.x();
+            int dy = fromBlock.height() - toBlock.height();
+            int dz = fromBlock.z() - toBlock.z();
+            return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
         } else {
-            Vector3i fromPos = fromNode.block.getBlockPosition();
-            Vector3i toPos = toNode.block.getBlockPosition();
+            Vector3i fromPos = fromBlock.getBlockPosition();
+            Vector3i toPos = toBlock.getBlockPosition();
             int diffX = Math.abs(fromPos.x - toPos.x);
             int diffZ = Math.abs(fromPos.z - toPos.z);
-            if (toNode.block.hasNeighbor(fromNode.block)) {
+            if (toBlock.hasNeighbor(fromBlock)) {
                 if (diffX + diffZ == 1) {
                     return 1;
                 } else {
                     return BitMap.SQRT_2;
                 }
             }
-            if (fromNode.block.floor.navGraphChunk.pathCache.hasPath(fromNode.block, toNode.block)) {
+            if (fromBlock.floor.navGraphChunk.pathCache.hasPath(fromBlock, toBlock)) {
                 cacheHits++;
             }
-            localPath = fromNode.block.floor.navGraphChunk.pathCache.findPath(
-                    fromNode.block, toNode.block, new PathCache.Callback() {
-                        @Override
-                        public Path run(WalkableBlock from, WalkableBlock to) {
-
-                            localAStar.reset();
-                            if (localAStar.run(from, to)) {
-                                return localAStar.getPath();
-                            }
-                            return Path.INVALID;
-                        }
-                    });
+            localPath = fromBlock.floor.navGraphChunk.pathCache.findPath(fromBlock, toBlock, localSearch);
             if (localPath == null || localPath == Path.INVALID) {
-                throw new IllegalStateException(fromNode + ", " + toNode + " no costs found!");
+                throw new IllegalStateException(fromBlock + ", " + toBlock + " no costs found!");
             }
 
             return localPath.size();
         }
     }
 
+    /**
+     * @return the estimated costs to the nearest goal
+     */
     protected float h(int current) {
-        Node fromNode = nodes.get(current);
-        Node toNode = nodes.get(end);
-        Vector3i fromPos = fromNode.block.getBlockPosition();
-        Vector3i toPos = toNode.block.getBlockPosition();
+        Vector3i fromPos = nodeBlocks[current].getBlockPosition();
+        float h = h(fromPos, nodeBlocks[goals[0]].getBlockPosition());
+        for (int i = 1; i < goalCount; i++) {
+            h = Math.min(h, h(fromPos, nodeBlocks[goals[i]].getBlockPosition()));
+        }
+        return h;
+    }
+
+    private float h(Vector3i fromPos, Vector3i toPos) {
+        if (consistentHeuristic) {
+            // every step costs at least 1 and moves at most one block along x and z
+            return Math.max(Math.abs(fromPos.x - toPos.x), Math.abs(fromPos.z - toPos.z));
+        }
         return (float) Math.abs(fromPos.x - toPos.x) + Math.abs(fromPos.y - toPos.y) + Math.abs(fromPos.z - toPos.z);
     }
 
+    /**
+     * Joins a chain of nodes, each with the local path leading to it from its parent. The first block itself is not
+     * part of the path, unless it is the only one or included explicitly.
+     *
+     * @param fromStart if false, the chain runs from a node back to the start, otherwise from the start to a node
+     */
+    private static ArrayList<WalkableBlock> copyLocalPaths(List<WalkableBlock> blocks, List<Path> segments,
+                                                           boolean fromStart, boolean includeFirst) {
+        ArrayList<WalkableBlock> nodes = new ArrayList<>();
+        for (int index = 0; index < blocks.size(); index++) {
+            Path segment = segments.get(index);
+            // a local path ends with the parent, which is added by the parent itself
+            List<WalkableBlock> localNodes = segment != null ? segment.getNodes() : null;
+            if (fromStart && localNodes != null) {
+                nodes.addAll(Lists.reverse(localNodes.subList(0, localNodes.size() - 1)));
+            }
+            if (index > 0 || includeFirst || blocks.size() == 1) {
+                nodes.add(blocks.get(index));
+            }
+            if (!fromStart && localNodes != null) {
+                nodes.addAll(localNodes.subList(0, localNodes.size() - 1));
+            }
+        }
+        return nodes;
+    }
+
     @Override
     public String toString() {
         return "closed list size=" + closedList.cardinality() + ", cache hits=" + cacheHits + ", local paths used=" + localPathsUsed;
     }
-
-    private static class Node {
-        int id;
-        float g;
-        float f;
-        Node p;
-        WalkableBlock block;
-        Path path;
-    }
-
 }
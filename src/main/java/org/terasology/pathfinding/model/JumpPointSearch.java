@@ -0,0 +1,151 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+import org.terasology.navgraph.BitMap;
+
+import java.util.List;
+
+/**
+ * Jump point search (Harabor and Grastien) on top of {@link AStar}.
+ * <p/>
+ * Works on the same uniform cost, 8-connected {@link BitMap} as AStar and finds paths of the same optimal length,
+ * but only puts jump points into the open list. Straight and diagonal runs through open areas are skipped by
+ * {@link #jump(int, int, int, int)} instead of being expanded node by node.
+ * <p/>
+ * As in BitMap, diagonal moves are allowed next to blocked cells, so the pruning rules are the ones from the
+ * original paper, which permit corner cutting. The path returned by {@link #getPath()} contains every cell, just
+ * like the one of AStar.
+ */
+public class JumpPointSearch extends AStar {
+    public JumpPointSearch(BitMap graph) {
+        super(graph);
+    }
+
+    public JumpPointSearch(BitMap graph, OpenList.Type openListType) {
+        super(graph, openListType);
+    }
+
+    @Override
+    public void getPath(List<Integer> list) {
+        BitMap graph = getGraph();
+        int start = getStart();
+        int current = getEnd();
+        while (current != start) {
+            int parent = getP(current);
+            int dx = Integer.signum(graph.getX(parent) - graph.getX(current));
+            int dy = Integer.signum(graph.getY(parent) - graph.getY(current));
+            int step = dx + dy * graph.getWidth();
+            while (current != parent) {
+                list.add(current);
+                current += step;
+            }
+        }
+        list.add(start);
+    }
+
+    @Override
+    protected void expand(int current) {
+        BitMap graph = getGraph();
+        int x = graph.getX(current);
+        int y = graph.getY(current);
+        if (current == getStart()) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (dx != 0 || dy != 0) {
+                        jumpFrom(current, x, y, dx, dy);
+                    }
+                }
+            }
+            return;
+        }
+
+        int parent = getP(current);
+        int dx = Integer.signum(x - graph.getX(parent));
+        int dy = Integer.signum(y - graph.getY(parent));
+        if (dx != 0 && dy != 0) {
+            jumpFrom(current, x, y, dx, 0);
+            jumpFrom(current, x, y, 0, dy);
+            jumpFrom(current, x, y, dx, dy);
+            if (!graph.isPassable(x - dx, y)) {
+                jumpFrom(current, x, y, -dx, dy);
+            }
+            if (!graph.isPassable(x, y - dy)) {
+                jumpFrom(current, x, y, dx, -dy);
+            }
+        } else if (dx != 0) {
+            jumpFrom(current, x, y, dx, 0);
+            if (!graph.isPassable(x, y + 1)) {
+                jumpFrom(current, x, y, dx, 1);
+            }
+            if (!graph.isPassable(x, y - 1)) {
+                jumpFrom(current, x, y, dx, -1);
+            }
+        } else {
+            jumpFrom(current, x, y, 0, dy);
+            if (!graph.isPassable(x + 1, y)) {
+                jumpFrom(current, x, y, 1, dy);
+            }
+            if (!graph.isPassable(x - 1, y)) {
+                jumpFrom(current, x, y, -1, dy);
+            }
+        }
+    }
+
+    private void jumpFrom(int current, int x, int y, int dx, int dy) {
+        int jumpPoint = jump(x, y, dx, dy);
+        if (jumpPoint != -1) {
+            updateSuccessor(current, jumpPoint);
+        }
+    }
+
+    /**
+     * Walks from (x, y) into direction (dx, dy) until a node is found, that needs to be expanded.
+     *
+     * @return the jump point or -1, if the walk ends at an obstacle or the border of the map
+     */
+    protected int jump(int x, int y, int dx, int dy) {
+        BitMap graph = getGraph();
+        int end = getEnd();
+        while (true) {
+            x += dx;
+            y += dy;
+            if (!graph.isPassable(x, y)) {
+                return -1;
+            }
+            int id = graph.offset(x, y);
+            if (id == end) {
+                return id;
+            }
+            if (dx != 0 && dy != 0) {
+                if (graph.isPassable(x - dx, y + dy) && !graph.isPassable(x - dx, y)
+                        || graph.isPassable(x + dx, y - dy) && !graph.isPassable(x, y - dy)) {
+                    return id;
+                }
+                if (jump(x, y, dx, 0) != -1 || jump(x, y, 0, dy) != -1) {
+                    return id;
+                }
+            } else if (dx != 0) {
+                if (graph.isPassable(x + dx, y + 1) && !graph.isPassable(x, y + 1)
+                        || graph.isPassable(x + dx, y - 1) && !graph.isPassable(x, y - 1)) {
+                    return id;
+                }
+            } else {
+                if (graph.isPassable(x + 1, y + dy) && !graph.isPassable(x + 1, y)
+                        || graph.isPassable(x - 1, y + dy) && !graph.isPassable(x - 1, y)) {
+                    return id;
+                }
+            }
+        }
+    }
+
+    @Override
+    protected float c(int from, int to) {
+        return getGraph().octileDistance(from, to);
+    }
+
+    @Override
+    protected float h(int current) {
+        return getGraph().octileDistance(current, getEnd());
+    }
+}
@@ -11,7 +11,6 @@ import org.terasology.navgraph.WalkableBlock;
  */
 @RegisterSystem
 public class LineOfSight2d extends BaseComponentSystem implements LineOfSight {
-    private WalkableBlock current;
 
     @Override
     public void initialise() {
@@ -23,8 +22,12 @@ public class LineOfSight2d extends BaseComponentSystem implements LineOfSight {
 
     }
 
+    /**
+     * Walks along the line from block to block. The walk is kept in local variables, so searches on several threads
+     * may share this instance.
+     */
     public boolean inSight(WalkableBlock one, WalkableBlock two) {
-        current = one;
+        WalkableBlock current = one;
         int x0 = one.x();
         int y0 = one.z();
         int x1 = two.x();
@@ -50,17 +53,24 @@ public class LineOfSight2d extends BaseComponentSystem implements LineOfSight {
             while (x0 != x1) {
                 f += dy;
                 if (f > dx) {
-                    if (isBlocked(x0, y0, sx, sy)) {
+                    current = step(current, x0, y0, sx, sy);
+                    if (current == null) {
                         return false;
                     }
                     y0 += sy;
                     f -= dx;
                 }
-                if (f != 0 && isBlocked(x0, y0, sx, sy)) {
-                    return false;
+                if (f != 0) {
+                    current = step(current, x0, y0, sx, sy);
+                    if (current == null) {
+                        return false;
+                    }
                 }
-                if (dy == 0 && isBlocked(x0, y0, sx, 1)) {
-                    return false;
+                if (dy == 0) {
+                    current = step(current, x0, y0, sx, 1);
+                    if (current == null) {
+                        return false;
+                    }
                 }
                 x0 += sx;
             }
@@ -68,17 +78,24 @@ public class LineOfSight2d extends BaseComponentSystem implements LineOfSight {
             while (y0 != y1) {
                 f += dx;
                 if (f > dy) {
-                    if (isBlocked(x0, y0, sx, sy)) {
+                    current = step(current, x0, y0, sx, sy);
+                    if (current == null) {
                         return false;
                     }
                     x0 += sx;
                     f -= dy;
                 }
-                if (f != 0 && isBlocked(x0, y0, sx, sy)) {
-                    return false;
+                if (f != 0) {
+                    current = step(current, x0, y0, sx, sy);
+                    if (current == null) {
+                        return false;
+                    }
                 }
-                if (dx == 0 && isBlocked(x0, y0, 1, sy)) {
-                    return false;
+                if (dx == 0) {
+                    current = step(current, x0, y0, 1, sy);
+                    if (current == null) {
+                        return false;
+                    }
                 }
                 y0 += sy;
             }
@@ -86,18 +103,20 @@ public class LineOfSight2d extends BaseComponentSystem implements LineOfSight {
         return true;
     }
 
-    private boolean isBlocked(int x0, int y0, int sx, int sy) {
+    /**
+     * @return the block the walk continues from, or null if the next cell is blocked
+     */
+    private WalkableBlock step(WalkableBlock current, int x0, int y0, int sx, int sy) {
         int x = x0 + ((sx - 1) / 2);
         int z = y0 + ((sy - 1) / 2);
         if (current.getBlockPosition().x == x && current.getBlockPosition().z == z) {
-            return false;
+            return current;
         }
         for (WalkableBlock neighbor : current.neighbors) {
             if (neighbor != null && neighbor.x() == x && neighbor.z() == z) {
-                current = neighbor;
-                return false;
+                return neighbor;
             }
         }
-        return true;
+        return null;
     }
 }
@@ -0,0 +1,62 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+/**
+ * Priority queue of node ids used as the open list of the searchers.
+ */
+public interface OpenList {
+    /**
+     * The available open list implementations, searchers take one of these to select their queue.
+     */
+    enum Type {
+        /**
+         * {@link FloatKeyedHeap}, exact float keys, O(log n) per operation.
+         */
+        BINARY_HEAP,
+        /**
+         * {@link RadixHeap}, fixed-point keys, amortized O(1) inserts and O(log C) delete-min.
+         */
+        RADIX_HEAP;
+
+        /**
+         * A monotone queue needs keys that never drop below the last removed one, so searchers using it switch to
+         * a consistent heuristic.
+         */
+        public boolean isMonotone() {
+            return this == RADIX_HEAP;
+        }
+
+        public OpenList create(int capacity, int indexSize) {
+            switch (this) {
+                case RADIX_HEAP:
+                    return new RadixHeap(indexSize);
+                default:
+                    return new FloatKeyedHeap(capacity, indexSize);
+            }
+        }
+    }
+
+    int getSize();
+
+    boolean isEmpty();
+
+    boolean contains(int item);
+
+    void insert(int item, float key);
+
+    /**
+     * Changes the key of a queued item.
+     */
+    void update(int item, float key);
+
+    int removeMin();
+
+    void clear();
+
+    /**
+     * Releases buffers that grew beyond the given number of items, must only be called while the list is empty.
+     * Buffers grow again on demand.
+     */
+    void shrink(int capacity);
+}
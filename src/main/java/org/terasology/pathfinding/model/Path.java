@@ -9,29 +9,49 @@ import java.util.Iterator;
 import java.util.List;
 
 /**
+ * A path of blocks.
+ * <p/>
+ * Paths found by {@link HAStar} also know their waypoints, the nodes of the search, that the path leads through. The
+ * blocks between them are copied from the local paths found by the search, so the path is complete, once the search
+ * returns it.
+ *
  * @author synopia
  */
 public class Path implements Iterable<WalkableBlock>{
     public static final Path INVALID = new Path();
     private ArrayList<WalkableBlock> nodes = new ArrayList<>();
+    private boolean partial;
+    private List<WalkableBlock> waypoints;
+
+    public Path() {
+    }
+
+    /**
+     * @param nodes     the blocks of the path
+     * @param waypoints the nodes of the search, that the path leads through, in path order
+     */
+    Path(ArrayList<WalkableBlock> nodes, List<WalkableBlock> waypoints) {
+        this.nodes = nodes;
+        this.waypoints = waypoints;
+    }
 
     public Iterator<WalkableBlock> iterator() {
         return this.nodes.iterator();
     }
 
-    public void remove(int index) {
+    public synchronized void remove(int index) {
         nodes.remove(index);
     }
 
-    public void addAll(List<WalkableBlock> nodeGroup) {
+    public synchronized void addAll(List<WalkableBlock> nodeGroup) {
         nodes.addAll(nodeGroup);
     }
 
-    public void add(WalkableBlock node) {
+    public synchronized void add(WalkableBlock node) {
         nodes.add(node);
     }
 
-    public int size() {
+    public synchronized int size() {
         return nodes.size();
     }
 
@@ -39,7 +59,35 @@ public class Path implements Iterable<WalkableBlock>{
         return nodes;
     }
 
-    public WalkableBlock get(int index) {
+    /**
+     * Cached paths are shared by the requests of several threads, so caches index a copy taken under the lock of the
+     * path.
+     *
+     * @return a copy of the blocks of the path
+     */
+    synchronized List<WalkableBlock> copyNodes() {
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * @return the nodes of the search, that the path leads through, or all blocks, if the path was not found by a search
+     */
+    public List<WalkableBlock> getWaypoints() {
+        return waypoints != null ? waypoints : nodes;
+    }
+
+    /**
+     * @return true, if the search ran out of budget and this path only leads to the block closest to the target
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    public synchronized WalkableBlock get(int index) {
         return nodes.get(index);
     }
 
@@ -3,18 +3,29 @@
 package org.terasology.pathfinding.model;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.navgraph.NavGraphChunk;
 import org.terasology.navgraph.WalkableBlock;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
+ * Searches on several threads share the caches of the chunks. Missing paths are searched outside the lock, so two
+ * threads may search the same path at once, the later one replaces the path of the earlier one.
+ *
  * @author synopia
  */
 public class PathCache {
     private Map<WalkableBlock, Map<WalkableBlock, Path>> paths = Maps.newHashMap();
+    /**
+     * The chunks of the blocks of all paths.
+     */
+    private Set<NavGraphChunk> chunks = Sets.newIdentityHashSet();
 
-    public Path getCachedPath(WalkableBlock from, WalkableBlock to) {
+    public synchronized Path getCachedPath(WalkableBlock from, WalkableBlock to) {
         Map<WalkableBlock, Path> fromMap = paths.get(from);
         if (fromMap != null) {
             return fromMap.get(to);
@@ -22,13 +33,32 @@ public class PathCache {
         return null;
     }
 
-    private void insert(WalkableBlock from, WalkableBlock to, Path path) {
-        Map<WalkableBlock, Path> fromMap = paths.get(from);
-        if (fromMap == null) {
-            fromMap = new HashMap<>();
-            paths.put(from, fromMap);
+    /**
+     * Stores a path, partial paths are ignored.
+     */
+    public void insert(WalkableBlock from, WalkableBlock to, Path path) {
+        if (path.isPartial()) {
+            return;
+        }
+        List<WalkableBlock> nodes = path.copyNodes();
+        synchronized (this) {
+            Map<WalkableBlock, Path> fromMap = paths.get(from);
+            if (fromMap == null) {
+                fromMap = new HashMap<>();
+                paths.put(from, fromMap);
+            }
+            fromMap.put(to, path);
+            for (int i = 0; i < nodes.size(); i++) {
+                chunks.add(nodes.get(i).floor.navGraphChunk);
+            }
         }
-        fromMap.put(to, path);
+    }
+
+    /**
+     * @return true, if one of the paths holds a block of the given chunk
+     */
+    public synchronized boolean crosses(NavGraphChunk chunk) {
+        return chunks.contains(chunk);
     }
 
     public boolean hasPath(WalkableBlock from, WalkableBlock to) {
@@ -45,11 +75,12 @@ public class PathCache {
         return path;
     }
 
-    public void clear() {
+    public synchronized void clear() {
         for (Map.Entry<WalkableBlock, Map<WalkableBlock, Path>> entry : paths.entrySet()) {
             entry.getValue().clear();
         }
         paths.clear();
+        chunks.clear();
     }
 
     public interface Callback {
@@ -0,0 +1,313 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.terasology.navgraph.NavGraphChunk;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A search for paths from several starts to one target, that runs in slices of a limited number of node expansions.
+ * Between the slices the open and closed lists are kept in the {@link HAStar} owned by this search, so many searches
+ * can be interleaved and no slice takes longer than its expansions.
+ * <p/>
+ * Starts far away from the target are searched over the clusters by a {@link ClusterSearch}. That search is not
+ * sliced itself, so each slice runs the cluster search of at most one start, before it yields.
+ * <p/>
+ * Several starts, that are neither cached nor far away, are searched together, if they are grouped on few chunks: one
+ * search runs backwards from the target, until all starts are reached.
+ * <p/>
+ * The search holds blocks of the navigation graph, it must be restarted, when a chunk it read changed between two
+ * slices, see {@link #isOutdated(int)}.
+ * <p/>
+ * A search may be given a cancellation flag, that is checked between the slices and periodically while searching,
+ * including the searches of long distance paths over the clusters.
+ */
+public class PathSearch {
+    private final Pathfinder pathfinder;
+    private final WalkableBlock target;
+    private final List<WalkableBlock> starts;
+    private final SearchBudget budget;
+    /**
+     * The paths by start, null until found.
+     */
+    private final List<Path> paths = Lists.newArrayList();
+    /**
+     * Indices of the starts, that need to be searched by {@link HAStar}.
+     */
+    private final List<Integer> pending = Lists.newArrayList();
+    /**
+     * Indices of the starts, that need to be searched over the clusters.
+     */
+    private final List<Integer> longDistance = Lists.newArrayList();
+    private boolean prepared;
+    /**
+     * If true, the pending starts are searched at once, by a single search from the target to all of them.
+     */
+    private boolean reverse;
+    private int found;
+    private int expandedNodes;
+    private HAStar searcher;
+    private BooleanSupplier cancellation;
+    /**
+     * The chunks read by the finished parts of the search.
+     */
+    private final Set<NavGraphChunk> chunks = Sets.newIdentityHashSet();
+
+    PathSearch(Pathfinder pathfinder, WalkableBlock target, List<WalkableBlock> starts, SearchBudget budget) {
+        this.pathfinder = pathfinder;
+        this.target = target;
+        this.starts = starts;
+        this.budget = budget;
+        for (int i = 0; i < starts.size(); i++) {
+            paths.add(null);
+        }
+    }
+
+    /**
+     * Sets a flag, that stops the search, once it returns true.
+     */
+    public void setCancellation(BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    public boolean isCancelled() {
+        return cancellation != null && cancellation.getAsBoolean();
+    }
+
+    /**
+     * Checks the chunks of the blocks, that the search holds: those of the starts and the target, of the paths found
+     * and of the nodes reached by the running search.
+     *
+     * @param since the count of chunk updates, when the chunks were last known to be current, see
+     *              {@link NavGraphSystem#getChunkUpdates()}
+     * @return true, if one of the chunks was rebuilt or changed since, so the search must be restarted
+     */
+    public boolean isOutdated(int since) {
+        return searcher != null && isOutdated(searcher.getVisitedChunks(), since) || isOutdated(chunks, since);
+    }
+
+    private static boolean isOutdated(Set<NavGraphChunk> visited, int since) {
+        for (NavGraphChunk chunk : visited) {
+            if (chunk.isOutdated() || chunk.lastChange > since) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addChunk(WalkableBlock block) {
+        if (block != null) {
+            chunks.add(block.floor.navGraphChunk);
+        }
+    }
+
+    /**
+     * Continues the search for at most the given number of node expansions, shared by all starts. A slice, that runs
+     * the search of a long distance path, ends after that search.
+     *
+     * @return true, if the paths for all starts are found or the search was cancelled
+     */
+    public boolean step(int maxExpansions) {
+        if (isCancelled()) {
+            cancel();
+            return true;
+        }
+        if (!prepared) {
+            prepare();
+        }
+        if (!longDistance.isEmpty()) {
+            return stepLongDistance();
+        }
+        int expansions = maxExpansions;
+        while (!pending.isEmpty()) {
+            if (searcher == null && !startSearch()) {
+                continue;
+            }
+            int expandedBefore = searcher.getExpandedNodes();
+            HAStar.Status status = searcher.step(expansions);
+            int expanded = searcher.getExpandedNodes() - expandedBefore;
+            expansions -= expanded;
+            expandedNodes += expanded;
+            if (status == HAStar.Status.RUNNING) {
+                return false;
+            }
+            if (status == HAStar.Status.CANCELLED) {
+                cancel();
+                return true;
+            }
+            if (reverse) {
+                finishReverse(status);
+            } else if (status == HAStar.Status.FOUND) {
+                finish(pending.remove(0), searcher.getPath());
+            } else if (status == HAStar.Status.BUDGET_EXHAUSTED) {
+                finish(pending.remove(0), searcher.getPartialPath());
+            } else {
+                finish(pending.remove(0), Path.INVALID);
+            }
+            cancel();
+        }
+        return true;
+    }
+
+    /**
+     * Finds the paths, that need no search, and decides how to search the others. Several starts without a budget
+     * share one search from the target, as a budget limits the search for each start.
+     */
+    private void prepare() {
+        prepared = true;
+        addChunk(target);
+        for (WalkableBlock start : starts) {
+            addChunk(start);
+        }
+        for (int i = 0; i < starts.size(); i++) {
+            Path path = pathfinder.findCached(starts.get(i), target);
+            if (path != null) {
+                finish(i, path);
+            } else if (pathfinder.isLongDistance(starts.get(i), target)) {
+                longDistance.add(i);
+            } else {
+                pending.add(i);
+            }
+        }
+        reverse = pending.size() > 1 && budget.isUnlimited() && countChunks(pending) * 4 <= pending.size();
+    }
+
+    /**
+     * The reverse search runs a full search on the chunks of all starts, so it only pays off, if the starts are
+     * grouped on few chunks. With fewer than four starts per chunk, the hierarchical searches of the single starts
+     * expand fewer nodes.
+     */
+    private int countChunks(List<Integer> indices) {
+        Set<NavGraphChunk> chunks = Sets.newIdentityHashSet();
+        for (int index : indices) {
+            chunks.add(starts.get(index).floor.navGraphChunk);
+        }
+        return chunks.size();
+    }
+
+    /**
+     * Searches the path of the next long distance start.
+     *
+     * @return true, if the paths for all starts are found or the search was cancelled
+     */
+    private boolean stepLongDistance() {
+        int index = longDistance.remove(0);
+        WalkableBlock start = starts.get(index);
+        // an earlier start on the same block may have found the path meanwhile
+        Path path = pathfinder.findCached(start, target);
+        if (path == null) {
+            path = pathfinder.findLongDistance(start, target, budget, cancellation);
+            if (path == null) {
+                cancel();
+                return true;
+            }
+        }
+        finish(index, path);
+        return longDistance.isEmpty() && pending.isEmpty();
+    }
+
+    /**
+     * @return false, if the next pending start needed no search after all
+     */
+    private boolean startSearch() {
+        if (reverse) {
+            List<WalkableBlock> goals = Lists.newArrayListWithCapacity(pending.size());
+            for (int index : pending) {
+                goals.add(pathfinder.resolve(starts.get(index)));
+            }
+            searcher = pathfinder.acquireSearcher();
+            searcher.setCancellation(cancellation);
+            searcher.start(pathfinder.resolve(target), goals, budget);
+            return true;
+        }
+        WalkableBlock start = starts.get(pending.get(0));
+        // an earlier start on the same block may have found the path meanwhile
+        Path path = pathfinder.findCached(start, target);
+        if (path != null) {
+            finish(pending.remove(0), path);
+            return false;
+        }
+        searcher = pathfinder.acquireSearcher();
+        searcher.setCancellation(cancellation);
+        searcher.start(pathfinder.resolve(start), pathfinder.resolve(target), budget);
+        return true;
+    }
+
+    /**
+     * Reads the paths of the reverse search. Starts, that were not reached because the search hit the node limit, are
+     * searched one by one.
+     */
+    private void finishReverse(HAStar.Status status) {
+        List<Integer> unreached = Lists.newArrayList();
+        for (int index : pending) {
+            WalkableBlock start = pathfinder.resolve(starts.get(index));
+            if (searcher.isSettled(start)) {
+                finish(index, searcher.getPathFrom(start));
+            } else if (status == HAStar.Status.BUDGET_EXHAUSTED) {
+                unreached.add(index);
+            } else {
+                finish(index, Path.INVALID);
+            }
+        }
+        pending.clear();
+        pending.addAll(unreached);
+        reverse = false;
+    }
+
+    private void finish(int index, Path path) {
+        for (WalkableBlock block : path.copyNodes()) {
+            addChunk(block);
+        }
+        pathfinder.store(starts.get(index), target, path);
+        paths.set(index, path);
+        found++;
+    }
+
+    /**
+     * Runs the search to the end or until it is cancelled.
+     */
+    public void run() {
+        while (!step(Integer.MAX_VALUE)) {
+            // only yields after Integer.MAX_VALUE expansions
+        }
+    }
+
+    /**
+     * Stops the search and returns its searcher to the pathfinder. The paths found so far remain available.
+     */
+    public void cancel() {
+        if (searcher != null) {
+            chunks.addAll(searcher.getVisitedChunks());
+            pathfinder.releaseSearcher(searcher);
+            searcher = null;
+        }
+    }
+
+    /**
+     * @return the number of nodes expanded by the searches of the starts so far
+     */
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * @return true, if all paths are found, false, if the search is still running or was cancelled
+     */
+    public boolean isDone() {
+        return found == starts.size();
+    }
+
+    /**
+     * @return the paths in the order of the starts, complete once {@link #isDone()}
+     */
+    public List<Path> getPaths() {
+        return paths;
+    }
+}
@@ -2,25 +2,49 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.pathfinding.model;
 
-import com.google.common.collect.Lists;
 import org.terasology.navgraph.NavGraphSystem;
 import org.terasology.navgraph.WalkableBlock;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 /**
- *
+ * Finds paths on the navigation graph. One pathfinder may be used by several threads at once, as long as they hold the
+ * read lock of the graph ({@link NavGraphSystem#getLock()}).
+ * <p/>
+ * Each running search owns its searchers. Finished searches return them to pools shared by all threads, so searches
+ * on short lived threads, like virtual threads, reuse the searchers of earlier ones.
  */
 public class Pathfinder {
-    private HAStar haStar;
-    private PathCache cache;
+    /**
+     * Searchers kept idle per pool, at most. More searchers are only needed while more searches run at once.
+     */
+    private static final int MAX_IDLE = 64;
+
+    private final LineOfSight lineOfSight;
+    private final OpenList.Type openListType;
+    private final SearcherPool<HAStar> idleSearchers = new SearcherPool<>();
+    private final SearcherPool<ClusterSearch> idleClusterSearches = new SearcherPool<>();
+    private BoundedPathCache cache;
     private NavGraphSystem world;
 
     public Pathfinder(NavGraphSystem world, LineOfSight lineOfSight) {
+        this(world, lineOfSight, OpenList.Type.BINARY_HEAP);
+    }
+
+    public Pathfinder(NavGraphSystem world, LineOfSight lineOfSight, OpenList.Type openListType) {
         this.world = world;
-        haStar = new HAStar(lineOfSight);
-        cache = new PathCache();
+        this.lineOfSight = lineOfSight;
+        this.openListType = openListType;
+        if (world != null) {
+            cache = world.getPathCache();
+        } else {
+            cache = new BoundedPathCache();
+        }
     }
 
     public void clearCache() {
@@ -32,33 +56,145 @@ public class Pathfinder {
     }
 
     public List<Path> findPath(final WalkableBlock target, final List<WalkableBlock> starts) {
-        List<Path> result = Lists.newArrayList();
-        haStar.reset();
-        for (WalkableBlock start : starts) {
-            Path path = cache.findPath(start, target, (from, to) -> {
-                if (from == null || to == null) {
-                    return Path.INVALID;
-                }
-                WalkableBlock refFrom = world.getBlock(from.getBlockPosition());
-                WalkableBlock refTo = world.getBlock(to.getBlockPosition());
-
-                Path path1;
-                if (haStar.run(refFrom, refTo)) {
-                    path1 = haStar.getPath();
-                } else {
-                    path1 = Path.INVALID;
-                }
-                return path1;
-            });
-            result.add(path);
+        return findPath(target, starts, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Searches paths from each start to the target. Searches, that run out of budget, return a partial path towards
+     * the target, see {@link Path#isPartial()}. Partial paths are not cached.
+     */
+    public List<Path> findPath(final WalkableBlock target, final List<WalkableBlock> starts, SearchBudget budget) {
+        PathSearch search = startSearch(target, starts, budget);
+        search.run();
+        return search.getPaths();
+    }
+
+    /**
+     * Starts a search, that runs in slices by calls to {@link PathSearch#step(int)}. Any number of searches may be
+     * running at the same time.
+     */
+    public PathSearch startSearch(final WalkableBlock target, final List<WalkableBlock> starts, SearchBudget budget) {
+        return new PathSearch(this, target, starts, budget);
+    }
+
+    /**
+     * Finds paths, that need no search: cached paths and invalid requests.
+     *
+     * @return the path or null, if the path needs to be searched
+     */
+    Path findCached(WalkableBlock from, WalkableBlock to) {
+        Path path = cache.getCachedPath(from, to);
+        if (path != null) {
+            return path;
         }
+        if (from == null || to == null) {
+            return Path.INVALID;
+        }
+        return null;
+    }
 
-        return result;
+    /**
+     * @return true, if the path is searched by {@link #findLongDistance}, instead of {@link HAStar}
+     */
+    boolean isLongDistance(WalkableBlock from, WalkableBlock to) {
+        if (world == null) {
+            return false;
+        }
+        ClusterSearch search = acquireClusterSearch();
+        try {
+            return search.isLongDistance(resolve(from), resolve(to));
+        } finally {
+            idleClusterSearches.offer(search);
+        }
     }
 
+    /**
+     * Searches a long distance path over the clusters. The cluster search refines its legs inside single clusters, so
+     * it is not sliced, but runs at once.
+     *
+     * @param cancellation stops the search, once it returns true, may be null
+     * @return the path, {@link Path#INVALID}, if there is none, or null, if the search was cancelled
+     */
+    Path findLongDistance(WalkableBlock from, WalkableBlock to, SearchBudget budget, BooleanSupplier cancellation) {
+        ClusterSearch search = acquireClusterSearch();
+        Path path;
+        try {
+            path = search.findPath(resolve(from), resolve(to), budget, cancellation);
+            if (search.isCancelled()) {
+                return null;
+            }
+        } finally {
+            idleClusterSearches.offer(search);
+        }
+        if (path == null) {
+            path = Path.INVALID;
+        }
+        cache.insert(from, to, path);
+        return path;
+    }
+
+    private ClusterSearch acquireClusterSearch() {
+        ClusterSearch search = idleClusterSearches.poll();
+        if (search == null) {
+            search = new ClusterSearch(world.getClusterGraph(), new HAStar(lineOfSight, true, openListType));
+        }
+        return search;
+    }
+
+    WalkableBlock resolve(WalkableBlock block) {
+        return world.getBlock(block.getBlockPosition());
+    }
+
+    void store(WalkableBlock from, WalkableBlock to, Path path) {
+        cache.insert(from, to, path);
+    }
+
+    HAStar acquireSearcher() {
+        HAStar searcher = idleSearchers.poll();
+        if (searcher == null) {
+            searcher = new HAStar(lineOfSight, true, openListType);
+        }
+        return searcher;
+    }
+
+    void releaseSearcher(HAStar searcher) {
+        searcher.reset();
+        idleSearchers.offer(searcher);
+    }
 
     @Override
     public String toString() {
-        return haStar.toString();
+        return "idle searchers=" + idleSearchers.size();
+    }
+
+    /**
+     * Idle searchers, last returned first, as its arrays are most likely still cached.
+     */
+    private static final class SearcherPool<T> {
+        private final Queue<T> idle = Collections.asLifoQueue(new ConcurrentLinkedDeque<>());
+        private final AtomicInteger size = new AtomicInteger();
+
+        private T poll() {
+            T searcher = idle.poll();
+            if (searcher != null) {
+                size.decrementAndGet();
+            }
+            return searcher;
+        }
+
+        /**
+         * Keeps the searcher, unless the pool is full.
+         */
+        private void offer(T searcher) {
+            if (size.incrementAndGet() <= MAX_IDLE) {
+                idle.offer(searcher);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+
+        private int size() {
+            return size.get();
+        }
     }
 }
@@ -0,0 +1,170 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+import java.util.Arrays;
+
+/**
+ * Monotone radix heap (Ahuja, Mehlhorn, Orlin and Tarjan) over fixed-point keys.
+ * <p/>
+ * Keys are converted to ints with {@link #FIXED_POINT_SCALE}, so the step costs 1 and sqrt(2) of the grids and the
+ * integer lengths of local paths are ordered with a resolution of 1/1024. Bucket {@code i} holds the items whose key
+ * first differs from the last extracted key in bit {@code i - 1}. Insert and decrease-key are O(1), delete-min
+ * redistributes one bucket and is O(log C) amortized, with C the largest key difference.
+ * <p/>
+ * A radix heap requires that no key is smaller than the last extracted one. The heuristics of the searchers are not
+ * always consistent, so such keys are clamped to the last extracted key. Every queued key is at least that large, so
+ * a clamped item is still among the next ones to be removed, just as it would be the minimum of a binary heap.
+ * <p/>
+ * Buckets and the per item arrays grow on demand.
+ */
+public class RadixHeap implements OpenList {
+    public static final int FIXED_POINT_SCALE = 1024;
+    private static final int BUCKETS = 33;
+    private static final int DEFAULT_INDEX_SIZE = 1024;
+    private static final int INITIAL_BUCKET_SIZE = 16;
+
+    private final int[][] buckets = new int[BUCKETS][];
+    private final int[] bucketSizes = new int[BUCKETS];
+    private int[] itemBucket;
+    private int[] itemPosition;
+    private int[] itemKey;
+    private int size;
+    private int last;
+
+    public RadixHeap() {
+        this(DEFAULT_INDEX_SIZE);
+    }
+
+    public RadixHeap(int indexSize) {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new int[INITIAL_BUCKET_SIZE];
+        }
+        allocateIndex(indexSize);
+    }
+
+    public static int toFixedPoint(float key) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.round((double) key * FIXED_POINT_SCALE));
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return item < itemBucket.length && itemBucket[item] > -1;
+    }
+
+    @Override
+    public void insert(int item, float key) {
+        if (item >= itemBucket.length) {
+            enlargeIndex(Math.max(item + 1, itemBucket.length * 2));
+        }
+        itemKey[item] = Math.max(toFixedPoint(key), last);
+        add(bucketOf(itemKey[item]), item);
+        size++;
+    }
+
+    @Override
+    public void update(int item, float key) {
+        remove(item);
+        itemKey[item] = Math.max(toFixedPoint(key), last);
+        add(bucketOf(itemKey[item]), item);
+    }
+
+    @Override
+    public int removeMin() {
+        if (bucketSizes[0] == 0) {
+            int bucket = 1;
+            while (bucketSizes[bucket] == 0) {
+                bucket++;
+            }
+            int[] items = buckets[bucket];
+            int count = bucketSizes[bucket];
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, itemKey[items[i]]);
+            }
+            last = min;
+            bucketSizes[bucket] = 0;
+            for (int i = 0; i < count; i++) {
+                int item = items[i];
+                add(bucketOf(itemKey[item]), item);
+            }
+        }
+        int item = buckets[0][--bucketSizes[0]];
+        itemBucket[item] = -1;
+        size--;
+        return item;
+    }
+
+    @Override
+    public void clear() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            for (int i = 0; i < bucketSizes[bucket]; i++) {
+                itemBucket[buckets[bucket][i]] = -1;
+            }
+            bucketSizes[bucket] = 0;
+        }
+        size = 0;
+        last = 0;
+    }
+
+    @Override
+    public void shrink(int capacity) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (buckets[i].length > INITIAL_BUCKET_SIZE) {
+                buckets[i] = new int[INITIAL_BUCKET_SIZE];
+            }
+        }
+        if (itemBucket.length > capacity) {
+            allocateIndex(capacity);
+        }
+    }
+
+    private void allocateIndex(int indexSize) {
+        itemBucket = new int[indexSize];
+        itemPosition = new int[indexSize];
+        itemKey = new int[indexSize];
+        Arrays.fill(itemBucket, -1);
+    }
+
+    private void enlargeIndex(int newSize) {
+        int oldSize = itemBucket.length;
+        itemBucket = Arrays.copyOf(itemBucket, newSize);
+        itemPosition = Arrays.copyOf(itemPosition, newSize);
+        itemKey = Arrays.copyOf(itemKey, newSize);
+        Arrays.fill(itemBucket, oldSize, newSize, -1);
+    }
+
+    private int bucketOf(int key) {
+        return 32 - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void add(int bucket, int item) {
+        int position = bucketSizes[bucket]++;
+        if (position == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], position * 2);
+        }
+        buckets[bucket][position] = item;
+        itemBucket[item] = bucket;
+        itemPosition[item] = position;
+    }
+
+    private void remove(int item) {
+        int bucket = itemBucket[item];
+        int position = itemPosition[item];
+        int lastPosition = --bucketSizes[bucket];
+        int moved = buckets[bucket][lastPosition];
+        buckets[bucket][position] = moved;
+        itemPosition[moved] = position;
+        itemBucket[item] = -1;
+    }
+}
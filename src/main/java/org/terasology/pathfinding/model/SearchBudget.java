@@ -0,0 +1,94 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the work of a single path search, by the number of expanded nodes, by wall-clock time or both.
+ * <p/>
+ * A search, that runs out of budget, stops and offers the path to the node closest to the target instead, see
+ * {@link HAStar#getPartialPath()}.
+ */
+public final class SearchBudget {
+    public static final SearchBudget UNLIMITED = new SearchBudget(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int maxExpandedNodes;
+    private final long maxNanos;
+
+    private SearchBudget(int maxExpandedNodes, long maxNanos) {
+        this.maxExpandedNodes = maxExpandedNodes;
+        this.maxNanos = maxNanos;
+    }
+
+    public static SearchBudget ofNodes(int maxExpandedNodes) {
+        return new SearchBudget(maxExpandedNodes, Long.MAX_VALUE);
+    }
+
+    public static SearchBudget ofTime(long time, TimeUnit unit) {
+        return new SearchBudget(Integer.MAX_VALUE, unit.toNanos(time));
+    }
+
+    public static SearchBudget of(int maxExpandedNodes, long time, TimeUnit unit) {
+        return new SearchBudget(maxExpandedNodes, unit.toNanos(time));
+    }
+
+    public int getMaxExpandedNodes() {
+        return maxExpandedNodes;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public boolean isUnlimited() {
+        return maxExpandedNodes == Integer.MAX_VALUE && !isTimeLimited();
+    }
+
+    public boolean isTimeLimited() {
+        return maxNanos != Long.MAX_VALUE;
+    }
+
+    /**
+     * @param expandedNodes nodes expanded so far
+     * @param startNanos    {@link System#nanoTime()} at the start of the search
+     * @return true, if the search must stop
+     */
+    public boolean isExhausted(int expandedNodes, long startNanos) {
+        return expandedNodes >= maxExpandedNodes || isTimeLimited() && System.nanoTime() - startNanos >= maxNanos;
+    }
+
+    /**
+     * @return the budget left after the given amount of work, used to share one budget between several searches
+     */
+    public SearchBudget remaining(int expandedNodes, long elapsedNanos) {
+        if (this == UNLIMITED) {
+            return this;
+        }
+        int nodes = maxExpandedNodes == Integer.MAX_VALUE ? maxExpandedNodes : Math.max(0, maxExpandedNodes - expandedNodes);
+        long nanos = isTimeLimited() ? Math.max(0, maxNanos - elapsedNanos) : maxNanos;
+        return new SearchBudget(nodes, nanos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchBudget)) {
+            return false;
+        }
+        SearchBudget other = (SearchBudget) o;
+        return maxExpandedNodes == other.maxExpandedNodes && maxNanos == other.maxNanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * maxExpandedNodes + Long.hashCode(maxNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchBudget{maxExpandedNodes=" + maxExpandedNodes + ", maxNanos=" + maxNanos + "}";
+    }
+}
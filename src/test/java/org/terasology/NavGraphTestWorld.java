@@ -0,0 +1,71 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.terasology.engine.registry.InjectionHelper;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.navgraph.NavGraphChunk;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.terasology.pathfinding.PathfinderTestWorldMapGenerator.SURFACE_HEIGHT;
+
+/**
+ * Navigation graph of a square of chunks of the "Pathfinding:pathfinder" test world.
+ * <p/>
+ * Each chunk of the test world has two floors, connected by stairs, and walls along its borders with gaps, that lead
+ * to the neighbor chunks.
+ */
+public final class NavGraphTestWorld {
+    /**
+     * Height of the walkable blocks of the upper floor.
+     */
+    public static final int UPPER_FLOOR = SURFACE_HEIGHT + 1;
+    /**
+     * Height of the walkable blocks of the lower floor.
+     */
+    public static final int LOWER_FLOOR = 46;
+
+    private NavGraphTestWorld() {
+    }
+
+    /**
+     * Generates the chunks from (0, 0, 0) to (chunks - 1, 0, chunks - 1) and builds their navigation graph.
+     */
+    public static NavGraphSystem create(ModuleTestingHelper mteHelp, int chunks) {
+        NavGraphSystem world = new NavGraphSystem();
+        InjectionHelper.inject(world);
+        for (int x = 0; x < chunks; x++) {
+            for (int z = 0; z < chunks; z++) {
+                mteHelp.forceAndWaitForGeneration(new Vector3i(x * NavGraphChunk.SIZE_X, 0, z * NavGraphChunk.SIZE_Z));
+            }
+        }
+        for (int x = 0; x < chunks; x++) {
+            for (int z = 0; z < chunks; z++) {
+                world.updateChunk(new Vector3i(x, 0, z));
+            }
+        }
+        return world;
+    }
+
+    /**
+     * Picks random walkable blocks of both floors of a world built by {@link #create(ModuleTestingHelper, int)}.
+     */
+    public static List<WalkableBlock> pickBlocks(NavGraphSystem world, int chunks, int count, Random random) {
+        List<WalkableBlock> blocks = Lists.newArrayListWithCapacity(count);
+        while (blocks.size() < count) {
+            int x = random.nextInt(chunks * NavGraphChunk.SIZE_X);
+            int z = random.nextInt(chunks * NavGraphChunk.SIZE_Z);
+            WalkableBlock block = world.getBlock(new Vector3i(x, random.nextBoolean() ? UPPER_FLOOR : LOWER_FLOOR, z));
+            if (block != null) {
+                blocks.add(block);
+            }
+        }
+        return blocks;
+    }
+}
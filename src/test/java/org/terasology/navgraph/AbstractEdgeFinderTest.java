@@ -0,0 +1,135 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+import org.terasology.pathfinding.model.HAStar;
+import org.terasology.pathfinding.model.Path;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class AbstractEdgeFinderTest {
+    WorldProvider world;
+    Vector3ic chunkLocation = new Vector3i(1, 0, 1);
+
+    @Test
+    public void edgesFollowLocalPaths() {
+        NavGraphChunk center = new NavGraphChunk(world, chunkLocation);
+        NavGraphChunk up = new NavGraphChunk(world, new Vector3i(1, 0, 0));
+        NavGraphChunk down = new NavGraphChunk(world, new Vector3i(1, 0, 2));
+        NavGraphChunk left = new NavGraphChunk(world, new Vector3i(0, 0, 1));
+        NavGraphChunk right = new NavGraphChunk(world, new Vector3i(2, 0, 1));
+        center.update();
+        up.update();
+        down.update();
+        left.update();
+        right.update();
+        center.connectNeighborMaps(left, up, right, down);
+
+        assertTrue(center.floors.size() > 1);
+        HAStar localAStar = new HAStar(null, false);
+        int edges = 0;
+        for (Floor floor : center.floors) {
+            for (Entrance entrance : floor.entrances()) {
+                WalkableBlock from = entrance.getAbstractBlock();
+                List<AbstractEdge> abstractEdges = floor.getAbstractEdges(from);
+                assertNotNull(abstractEdges);
+
+                Set<WalkableBlock> targets = Sets.newHashSet();
+                addAbstractBlocks(targets, floor);
+                for (Floor neighborFloor : entrance.neighborFloors) {
+                    addAbstractBlocks(targets, neighborFloor);
+                }
+                for (AbstractEdge edge : abstractEdges) {
+                    assertTrue(targets.contains(edge.target));
+                    if (edge.path == null) {
+                        assertTrue(edge.target.hasNeighbor(from));
+                        boolean straight = Math.abs(from.x() - edge.target.x())
+                                + Math.abs(from.z() - edge.target.z()) == 1;
+                        assertEquals(straight ? 1 : BitMap.SQRT_2, edge.cost);
+                    } else {
+                        localAStar.reset();
+                        assertTrue(localAStar.run(from, edge.target));
+                        Path expected = localAStar.getPath();
+                        assertEquals(expected.size(), edge.cost);
+                        assertEquals(expected.getNodes(), edge.path.getNodes());
+                    }
+                    edges++;
+                }
+            }
+        }
+        assertTrue(edges > 0);
+    }
+
+    @Test
+    public void edgesAreRecomputedOnConnect() {
+        NavGraphChunk center = new NavGraphChunk(world, chunkLocation);
+        NavGraphChunk left = new NavGraphChunk(world, new Vector3i(0, 0, 1));
+        center.update();
+        left.update();
+        left.connectNeighborMaps(null, null, null, null);
+        assertFalse(hasEdgeInto(left, center));
+        assertFalse(left.dependsOn(center));
+
+        center.connectNeighborMaps(left, null, null, null);
+        assertTrue(hasEdgeInto(left, center));
+        assertTrue(hasEdgeInto(center, left));
+        assertTrue(left.dependsOn(center));
+
+        center.disconnectNeighborMaps(left, null, null, null);
+        assertFalse(hasEdgeInto(left, center));
+        assertFalse(left.dependsOn(center));
+    }
+
+    @BeforeEach
+    public void setup(WorldProvider worldProvider, ModuleTestingHelper mteHelp) {
+        world = worldProvider;
+        mteHelp.runUntil(mteHelp.makeChunksRelevant(
+                new BlockRegion(chunkLocation).expand(2, 0, 2)));
+    }
+
+    private void addAbstractBlocks(Set<WalkableBlock> blocks, Floor floor) {
+        for (Entrance entrance : floor.entrances()) {
+            blocks.add(entrance.getAbstractBlock());
+        }
+    }
+
+    private boolean hasEdgeInto(NavGraphChunk chunk, NavGraphChunk target) {
+        for (Floor floor : chunk.floors) {
+            for (Entrance entrance : floor.entrances()) {
+                List<AbstractEdge> edges = floor.getAbstractEdges(entrance.getAbstractBlock());
+                if (edges == null) {
+                    continue;
+                }
+                for (AbstractEdge edge : edges) {
+                    if (edge.target.floor.navGraphChunk == target) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
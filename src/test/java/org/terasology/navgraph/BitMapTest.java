@@ -2,9 +2,13 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.navgraph;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * @author synopia
  */
@@ -42,4 +46,29 @@ public class BitMapTest {
         Assertions.assertTrue(r1.overlap(r2));
         Assertions.assertTrue(r2.overlap(r1));
     }
+
+    @Test
+    public void testSuccessors() {
+        BitMap map = new BitMap();
+        map.setPassable(0, 0);
+        map.setPassable(1, 0);
+        map.setPassable(0, 1);
+        map.setPassable(1, 1);
+        map.setPassable(2, 2);
+
+        int[] successors = new int[BitMap.MAX_SUCCESSORS];
+        int count = map.getSuccessors(map.offset(1, 1), successors);
+        int[] actual = Arrays.copyOf(successors, count);
+        Arrays.sort(actual);
+        int[] expected = new int[]{map.offset(0, 0), map.offset(1, 0), map.offset(0, 1), map.offset(2, 2)};
+        Arrays.sort(expected);
+        Assertions.assertArrayEquals(expected, actual);
+
+        List<Integer> boxed = Lists.newArrayList();
+        map.getSuccessors(map.offset(1, 1), boxed);
+        Assertions.assertEquals(count, boxed.size());
+
+        Assertions.assertEquals(1, map.getSuccessors(map.offset(2, 2), successors));
+        Assertions.assertEquals(map.offset(1, 1), successors[0]);
+    }
 }
@@ -0,0 +1,116 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.NavGraphTestWorld;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+import org.terasology.pathfinding.model.HAStar;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class FlowFieldTest {
+    private static final int CHUNKS = 3;
+
+    private NavGraphSystem world;
+    private WalkableBlock target;
+
+    @BeforeEach
+    public void setup(ModuleTestingHelper mteHelp) {
+        world = NavGraphTestWorld.create(mteHelp, CHUNKS);
+        target = findBlock(NavGraphChunk.SIZE_X + NavGraphChunk.SIZE_X / 2, NavGraphChunk.SIZE_Z + NavGraphChunk.SIZE_Z / 2);
+    }
+
+    @Test
+    public void followsShortestPaths() {
+        FlowField field = world.getFlowFields().getFlowField(target.getBlockPosition());
+        Assertions.assertNotNull(field);
+        Assertions.assertEquals(0, field.getDistance(target));
+        Assertions.assertNull(field.getNext(target));
+
+        HAStar haStar = new HAStar(null, true);
+        int reachable = 0;
+        for (int x = 0; x < CHUNKS * NavGraphChunk.SIZE_X; x += 7) {
+            for (int z = 0; z < CHUNKS * NavGraphChunk.SIZE_Z; z += 7) {
+                WalkableBlock start = findBlock(x, z);
+                if (start != null) {
+                    float distance = field.getDistance(start);
+                    haStar.reset();
+                    boolean found = haStar.run(target, start);
+                    Assertions.assertEquals(found, distance != Float.POSITIVE_INFINITY, start.toString());
+                    if (found) {
+                        Assertions.assertEquals(distance, follow(field, start), 0.01f, start.toString());
+                        assertNoShorterNeighbor(field, start);
+                        reachable++;
+                    }
+                }
+            }
+        }
+        Assertions.assertTrue(reachable > 0);
+    }
+
+    @Test
+    public void invalidatedByChunkUpdate() {
+        FlowField field = world.getFlowFields().getFlowField(target.getBlockPosition());
+        Assertions.assertSame(field, world.getFlowFields().getFlowField(target.getBlockPosition()));
+
+        world.updateChunk(new Vector3i(0, 0, 0));
+
+        Assertions.assertFalse(field.isValid());
+        Assertions.assertEquals(0, world.getFlowFields().size());
+    }
+
+    private WalkableBlock findBlock(int x, int z) {
+        for (int y = NavGraphChunk.SIZE_Y - 1; y >= 0; y--) {
+            WalkableBlock block = world.getBlock(new Vector3i(x, y, z));
+            if (block != null) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walks along the field to the target.
+     *
+     * @return the costs of the walk
+     */
+    private float follow(FlowField field, WalkableBlock start) {
+        float cost = 0;
+        WalkableBlock current = start;
+        while (current != target) {
+            WalkableBlock next = field.getNext(current);
+            Assertions.assertNotNull(next, current.toString());
+            cost += stepCost(current, next);
+            current = next;
+        }
+        return cost;
+    }
+
+    /**
+     * The distance of a block is minimal, if no neighbor offers a shorter way to the target.
+     */
+    private void assertNoShorterNeighbor(FlowField field, WalkableBlock block) {
+        for (WalkableBlock neighbor : block.neighbors) {
+            if (neighbor != null && field.getDistance(neighbor) != Float.POSITIVE_INFINITY) {
+                Assertions.assertTrue(field.getDistance(block) <= field.getDistance(neighbor) + stepCost(block, neighbor) + 0.01f,
+                        block + " -> " + neighbor);
+            }
+        }
+    }
+
+    private float stepCost(WalkableBlock from, WalkableBlock to) {
+        boolean diagonal = from.x() != to.x() && from.z() != to.z();
+        return diagonal ? BitMap.SQRT_2 : 1;
+    }
+}
@@ -0,0 +1,61 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.navgraph;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.NavGraphTestWorld;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+
+import java.util.List;
+import java.util.Random;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class NavGraphSystemTest {
+    private static final int CHUNKS = 2;
+
+    private NavGraphSystem world;
+
+    @BeforeEach
+    public void setup(ModuleTestingHelper mteHelp) {
+        world = NavGraphTestWorld.create(mteHelp, CHUNKS);
+    }
+
+    @Test
+    public void handlesResolveToTheirBlocks() {
+        List<WalkableBlock> blocks = NavGraphTestWorld.pickBlocks(world, CHUNKS, 20, new Random(3));
+        for (WalkableBlock block : blocks) {
+            Assertions.assertSame(block, world.getBlock(block.getHandle()), block.toString());
+        }
+    }
+
+    @Test
+    public void staleHandleAfterRebuild() {
+        Vector3i chunkPos = new Vector3i(0, 0, 0);
+        WalkableBlock block = NavGraphTestWorld.pickBlocks(world, 1, 1, new Random(4)).get(0);
+        long handle = block.getHandle();
+        int index = block.floor.navGraphChunk.index;
+
+        NavGraphChunk rebuilt = world.updateChunk(chunkPos);
+        WalkableBlock rebuiltBlock = world.getBlock(block.getBlockPosition());
+        Assertions.assertNotNull(rebuiltBlock);
+        Assertions.assertNotSame(block, rebuiltBlock);
+        // the rebuilt chunk reuses the index and the block keeps its id, only the generation tells them apart
+        Assertions.assertEquals(index, rebuilt.index);
+        Assertions.assertEquals(NavGraphChunk.getBlockId(handle), NavGraphChunk.getBlockId(rebuiltBlock.getHandle()));
+        Assertions.assertNotEquals(handle, rebuiltBlock.getHandle());
+
+        Assertions.assertNull(world.getBlock(handle));
+        Assertions.assertSame(rebuiltBlock, world.getBlock(rebuiltBlock.getHandle()));
+    }
+}
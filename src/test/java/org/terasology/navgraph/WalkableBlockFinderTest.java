@@ -11,12 +11,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.terasology.TextWorldBuilder;
 import org.terasology.engine.context.Context;
 import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.chunks.ChunkProvider;
 import org.terasology.moduletestingenvironment.MTEExtension;
 import org.terasology.moduletestingenvironment.ModuleTestingHelper;
 import org.terasology.moduletestingenvironment.extension.Dependencies;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -30,9 +34,25 @@ public class WalkableBlockFinderTest {
 
     TextWorldBuilder builder;
     WorldProvider worldProvider;
+    ChunkProvider chunkProvider;
 
     Vector3ic chunkLocation = new Vector3i(0, 0, 0);
 
+    @Test
+    public void testDenseIds() {
+        builder.setGround(
+                "XXX|   |   |",
+                "XXX|X  |X  |",
+                "XXX|   |   |"
+        );
+        final NavGraphChunk chunk = new NavGraphChunk(worldProvider, chunkLocation);
+        chunk.update();
+
+        for (int i = 0; i < chunk.walkableBlocks.size(); i++) {
+            assertEquals(i, chunk.walkableBlocks.get(i).id);
+        }
+    }
+
     @Test
     public void testNeighbors4() {
         builder.setGround(
@@ -177,6 +197,40 @@ public class WalkableBlockFinderTest {
         );
     }
 
+    @Test
+    public void testChunkProvider() {
+        builder.setGround(
+                "XXXXXX|      |      |      |XXXXXX|",
+                "XX    |  X   |   X  |    X |  X  X|",
+                "XX    |  X   |   X  |    X |  X  X|",
+                "XXXXXX|      |      |      |XXXXXX|",
+                "XXX X |X  X  |      |XXX   |      |",
+                "X X  X|      | X    |XXX   |  X   |"
+        );
+        NavGraphChunk expected = new NavGraphChunk(worldProvider, chunkLocation);
+        new WalkableBlockFinder(worldProvider).findWalkableBlocks(expected);
+        NavGraphChunk chunk = new NavGraphChunk(worldProvider, chunkLocation);
+        new WalkableBlockFinder(worldProvider, chunkProvider).findWalkableBlocks(chunk);
+
+        assertFalse(expected.walkableBlocks.isEmpty());
+        assertEquals(expected.walkableBlocks.size(), chunk.walkableBlocks.size());
+        for (int i = 0; i < expected.walkableBlocks.size(); i++) {
+            WalkableBlock expectedBlock = expected.walkableBlocks.get(i);
+            WalkableBlock block = chunk.walkableBlocks.get(i);
+            assertEquals(expectedBlock.getBlockPosition(), block.getBlockPosition());
+            for (int direction = 0; direction < expectedBlock.neighbors.length; direction++) {
+                WalkableBlock expectedNeighbor = expectedBlock.neighbors[direction];
+                WalkableBlock neighbor = block.neighbors[direction];
+                if (expectedNeighbor == null) {
+                    assertNull(neighbor);
+                } else {
+                    assertNotNull(neighbor);
+                    assertEquals(expectedNeighbor.getBlockPosition(), neighbor.getBlockPosition());
+                }
+            }
+        }
+    }
+
     private void assertNeighbors3x3(String... data) {
         builder.setGround(data);
         WalkableBlockFinder finder = new WalkableBlockFinder(worldProvider);
@@ -229,9 +283,11 @@ public class WalkableBlockFinderTest {
     }
 
     @BeforeEach
-    public void setup(Context context, WorldProvider worldProvider, ModuleTestingHelper mteHelp) {
+    public void setup(Context context, WorldProvider worldProvider, ChunkProvider chunkProvider,
+                      ModuleTestingHelper mteHelp) {
         builder = new TextWorldBuilder(context);
         this.worldProvider = worldProvider;
+        this.chunkProvider = chunkProvider;
         mteHelp.forceAndWaitForGeneration(chunkLocation);
     }
 }
@@ -89,6 +89,25 @@ public class AStarTest {
         );
     }
 
+    @Test
+    public void reuse() {
+        BitMap map = new BitMap();
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                map.setPassable(x, y);
+            }
+        }
+        AStar sut = new AStar(map);
+        Assertions.assertTrue(sut.run(map.offset(1, 1), map.offset(6, 6)));
+        List<Integer> first = sut.getPath();
+
+        Assertions.assertTrue(sut.run(map.offset(6, 1), map.offset(1, 6)));
+        Assertions.assertEquals(0, sut.getG(map.offset(7, 7)), 0);
+
+        Assertions.assertTrue(sut.run(map.offset(1, 1), map.offset(6, 6)));
+        Assertions.assertEquals(first, sut.getPath());
+    }
+
     private void assertAStar(String... data) {
         BitMap map = new BitMap();
         int start = -1;
@@ -0,0 +1,82 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.terasology.navgraph.Floor;
+import org.terasology.navgraph.NavGraphChunk;
+import org.terasology.navgraph.WalkableBlock;
+import org.terasology.pathfinding.model.BoundedPathCache;
+import org.terasology.pathfinding.model.Path;
+
+public class BoundedPathCacheTest {
+    @Test
+    public void dropsLeastRecentlyUsed() {
+        BoundedPathCache cache = new BoundedPathCache(2);
+        WalkableBlock a = block(0, 0);
+        WalkableBlock b = block(0, 1);
+        WalkableBlock c = block(0, 2);
+        cache.insert(a, b, path(a, b));
+        cache.insert(b, c, path(b, c));
+        Assertions.assertNotNull(cache.getCachedPath(a, b));
+
+        cache.insert(a, c, path(a, c));
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNotNull(cache.getCachedPath(a, b));
+        Assertions.assertNull(cache.getCachedPath(b, c));
+        Assertions.assertNotNull(cache.getCachedPath(a, c));
+    }
+
+    @Test
+    public void dropsPathsCrossingRebuiltChunk() {
+        BoundedPathCache cache = new BoundedPathCache();
+        WalkableBlock a = block(0, 0);
+        WalkableBlock b = block(1, 0);
+        WalkableBlock c = block(2, 0);
+        WalkableBlock d = block(3, 0);
+        cache.insert(a, c, path(a, b, c));
+        cache.insert(c, d, path(c, d));
+
+        cache.invalidate(new Vector3i(1, 0, 0));
+
+        Assertions.assertNull(cache.getCachedPath(a, c));
+        Assertions.assertNotNull(cache.getCachedPath(c, d));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void ignoresPartialPaths() {
+        BoundedPathCache cache = new BoundedPathCache();
+        WalkableBlock a = block(0, 0);
+        WalkableBlock b = block(1, 0);
+        Path path = new Path() {
+            @Override
+            public boolean isPartial() {
+                return true;
+            }
+        };
+        path.add(a);
+
+        cache.insert(a, b, path);
+
+        Assertions.assertNull(cache.getCachedPath(a, b));
+    }
+
+    private WalkableBlock block(int chunkX, int chunkZ) {
+        NavGraphChunk chunk = new NavGraphChunk(null, new Vector3i(chunkX, 0, chunkZ));
+        WalkableBlock block = new WalkableBlock(chunkX * NavGraphChunk.SIZE_X, chunkZ * NavGraphChunk.SIZE_Z, 10);
+        block.floor = new Floor(chunk, 0);
+        return block;
+    }
+
+    private Path path(WalkableBlock... blocks) {
+        Path path = new Path();
+        for (WalkableBlock block : blocks) {
+            path.add(block);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,185 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.NavGraphTestWorld;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+import org.terasology.navgraph.BitMap;
+import org.terasology.navgraph.Cluster;
+import org.terasology.navgraph.ClusterGraph;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+import org.terasology.pathfinding.model.ClusterSearch;
+import org.terasology.pathfinding.model.HAStar;
+import org.terasology.pathfinding.model.Path;
+import org.terasology.pathfinding.model.PathSearch;
+import org.terasology.pathfinding.model.Pathfinder;
+import org.terasology.pathfinding.model.SearchBudget;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class ClusterSearchTest {
+    private static final int CHUNKS = 2 * Cluster.SIZE;
+    private static final int SEARCHES = 10;
+    /**
+     * Neither search is exact, routes over the border blocks of the clusters may take small detours and the paths of
+     * {@link HAStar} follow the entrances of the floors.
+     */
+    private static final float MAX_DEVIATION = 0.1f;
+
+    private NavGraphSystem world;
+
+    @BeforeEach
+    public void setup(ModuleTestingHelper mteHelp) {
+        world = NavGraphTestWorld.create(mteHelp, CHUNKS);
+    }
+
+    @Test
+    public void matchesHAStar() {
+        ClusterSearch clusterSearch = new ClusterSearch(world.getClusterGraph(), new HAStar(null, true));
+        HAStar haStar = new HAStar(null, true);
+        Random random = new Random(1);
+        int searches = 0;
+        while (searches < SEARCHES) {
+            List<WalkableBlock> blocks = NavGraphTestWorld.pickBlocks(world, CHUNKS, 2, random);
+            WalkableBlock start = blocks.get(0);
+            WalkableBlock end = blocks.get(1);
+            if (!clusterSearch.isLongDistance(start, end)) {
+                continue;
+            }
+            haStar.reset();
+            Assertions.assertTrue(haStar.run(start, end));
+            Path expected = haStar.getPath();
+            Path path = clusterSearch.findPath(start, end);
+
+            Assertions.assertNotNull(path);
+            Assertions.assertFalse(path.isPartial());
+            Assertions.assertEquals(start, path.getTarget());
+            Assertions.assertTrue(isStep(path.getStart(), end), path.getStart() + " -> " + end);
+            float cost = cost(path, end);
+            float expectedCost = cost(expected, end);
+            Assertions.assertEquals(expectedCost, cost, expectedCost * MAX_DEVIATION, start + " -> " + end);
+            searches++;
+        }
+    }
+
+    @Test
+    public void cancelStopsRouteAndLegs() {
+        ClusterSearch clusterSearch = new ClusterSearch(world.getClusterGraph(), new HAStar(null, true));
+        WalkableBlock[] pair = pickLongDistance(clusterSearch, new Random(2));
+
+        Assertions.assertNull(clusterSearch.findPath(pair[0], pair[1], SearchBudget.UNLIMITED, () -> true));
+        Assertions.assertTrue(clusterSearch.isCancelled());
+
+        // cancelled after the route was found, while the legs are refined
+        AtomicInteger checks = new AtomicInteger();
+        Assertions.assertNull(clusterSearch.findPath(pair[0], pair[1], SearchBudget.UNLIMITED,
+                () -> checks.incrementAndGet() > 2));
+        Assertions.assertTrue(clusterSearch.isCancelled());
+
+        Path path = clusterSearch.findPath(pair[0], pair[1], SearchBudget.UNLIMITED, () -> false);
+        Assertions.assertNotNull(path);
+        Assertions.assertFalse(clusterSearch.isCancelled());
+    }
+
+    @Test
+    public void cancelMultiClusterRequest() {
+        Pathfinder pathfinder = new Pathfinder(world, null);
+        WalkableBlock[] pair = pickLongDistance(new ClusterSearch(world.getClusterGraph(), new HAStar(null, true)),
+                new Random(3));
+        AtomicInteger checks = new AtomicInteger();
+        PathSearch search = pathfinder.startSearch(pair[1], Lists.newArrayList(pair[0]), SearchBudget.UNLIMITED);
+        search.setCancellation(() -> checks.incrementAndGet() > 2);
+
+        Assertions.assertTrue(search.step(Integer.MAX_VALUE));
+        Assertions.assertFalse(search.isDone());
+        Assertions.assertNull(search.getPaths().get(0));
+        Assertions.assertTrue(checks.get() > 2);
+        // a cancelled search is not taken for a failed one
+        Assertions.assertNull(world.getPathCache().getCachedPath(pair[0], pair[1]));
+
+        Path path = pathfinder.findPath(pair[1], pair[0]);
+        Assertions.assertNotNull(path);
+        Assertions.assertTrue(path.size() > 0);
+    }
+
+    @Test
+    public void invalidateRebuildsAffectedClusters() {
+        ClusterGraph graph = world.getClusterGraph();
+        Cluster left = graph.getCluster(new Vector3i(0, 0, 0));
+        Cluster right = graph.getCluster(new Vector3i(1, 0, 0));
+        Cluster other = graph.getCluster(new Vector3i(0, 0, 1));
+        Assertions.assertSame(left, graph.getCluster(new Vector3i(0, 0, 0)));
+        Assertions.assertFalse(left.getBorderBlocks().isEmpty());
+
+        // the last chunk column of the left cluster, its neighbor chunks belong to the right cluster
+        Vector3i chunkPos = new Vector3i(Cluster.SIZE - 1, 0, 0);
+        graph.invalidate(chunkPos);
+
+        Cluster rebuiltLeft = graph.getCluster(new Vector3i(0, 0, 0));
+        Cluster rebuiltRight = graph.getCluster(new Vector3i(1, 0, 0));
+        Assertions.assertNotSame(left, rebuiltLeft);
+        Assertions.assertNotSame(right, rebuiltRight);
+        Assertions.assertSame(other, graph.getCluster(new Vector3i(0, 0, 1)));
+        Assertions.assertEquals(left.getBorderBlocks(), rebuiltLeft.getBorderBlocks());
+
+        world.updateChunk(chunkPos);
+        Cluster updated = graph.getCluster(new Vector3i(0, 0, 0));
+        Assertions.assertNotSame(rebuiltLeft, updated);
+        Assertions.assertEquals(left.getBorderBlocks().size(), updated.getBorderBlocks().size());
+        for (WalkableBlock block : updated.getBorderBlocks()) {
+            Assertions.assertFalse(block.floor.navGraphChunk.isOutdated(), block.toString());
+            Assertions.assertNotNull(updated.getEdges(block));
+        }
+    }
+
+    /**
+     * @return a start and a target more than a cluster apart, that are connected
+     */
+    private WalkableBlock[] pickLongDistance(ClusterSearch clusterSearch, Random random) {
+        while (true) {
+            List<WalkableBlock> blocks = NavGraphTestWorld.pickBlocks(world, CHUNKS, 2, random);
+            if (clusterSearch.isLongDistance(blocks.get(0), blocks.get(1))
+                    && clusterSearch.findPath(blocks.get(0), blocks.get(1)) != null) {
+                return new WalkableBlock[]{blocks.get(0), blocks.get(1)};
+            }
+        }
+    }
+
+    /**
+     * Sums the steps of a path, starting at the block next to the end, which is not part of the path.
+     */
+    private float cost(Path path, WalkableBlock end) {
+        float cost = 0;
+        WalkableBlock previous = end;
+        for (int i = 0; i < path.size(); i++) {
+            WalkableBlock block = path.get(i);
+            if (block != previous) {
+                Assertions.assertTrue(isStep(previous, block), previous + " -> " + block);
+                cost += previous.x() != block.x() && previous.z() != block.z() ? BitMap.SQRT_2 : 1;
+            }
+            previous = block;
+        }
+        return cost;
+    }
+
+    private boolean isStep(WalkableBlock from, WalkableBlock to) {
+        return from.hasNeighbor(to) || to.hasNeighbor(from);
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.terasology.pathfinding.model.FloatKeyedHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class FloatKeyedHeapTest {
+    @Test
+    public void removesInKeyOrder() {
+        Random random = new Random(0);
+        FloatKeyedHeap heap = new FloatKeyedHeap(4, 256);
+        float[] keys = new float[256];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextFloat() * 100;
+            heap.insert(i, keys[i]);
+        }
+        float[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        for (float expected : sorted) {
+            Assertions.assertEquals(expected, heap.getMinKey(), 0);
+            int item = heap.removeMin();
+            Assertions.assertEquals(expected, keys[item], 0);
+            Assertions.assertFalse(heap.contains(item));
+        }
+        Assertions.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void update() {
+        FloatKeyedHeap heap = new FloatKeyedHeap();
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.insert(3, 30);
+        heap.insert(4, 40);
+
+        heap.update(4, 5);
+        Assertions.assertEquals(5, heap.getKey(4), 0);
+        heap.update(1, 25);
+
+        Assertions.assertEquals(4, heap.removeMin());
+        Assertions.assertEquals(2, heap.removeMin());
+        Assertions.assertEquals(1, heap.removeMin());
+        Assertions.assertEquals(3, heap.removeMin());
+    }
+
+    @Test
+    public void clear() {
+        FloatKeyedHeap heap = new FloatKeyedHeap();
+        heap.insert(1, 1);
+        heap.insert(2, 2);
+        heap.removeMin();
+        heap.clear();
+
+        Assertions.assertTrue(heap.isEmpty());
+        Assertions.assertFalse(heap.contains(1));
+        Assertions.assertFalse(heap.contains(2));
+        heap.insert(2, 3);
+        Assertions.assertTrue(heap.contains(2));
+        Assertions.assertEquals(2, heap.removeMin());
+    }
+
+    @Test
+    public void growsAndShrinks() {
+        FloatKeyedHeap heap = new FloatKeyedHeap(1, 1);
+        for (int i = 0; i < 5000; i += 7) {
+            heap.insert(i, 5000 - i);
+        }
+        Assertions.assertFalse(heap.contains(10000));
+        Assertions.assertTrue(heap.contains(4998));
+        Assertions.assertEquals(4998, heap.removeMin());
+
+        heap.clear();
+        heap.shrink(16);
+        Assertions.assertFalse(heap.contains(4991));
+        heap.insert(3000, 1);
+        heap.insert(2, 2);
+        Assertions.assertEquals(3000, heap.removeMin());
+        Assertions.assertEquals(2, heap.removeMin());
+    }
+}
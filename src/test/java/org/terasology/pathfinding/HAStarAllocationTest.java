@@ -0,0 +1,87 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.NavGraphTestWorld;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+import org.terasology.pathfinding.model.HAStar;
+import org.terasology.pathfinding.model.LineOfSight2d;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Guards, that a hierarchical search with warm local path caches does not allocate per expanded node. Only the few
+ * allocations per search remain, so the allocated bytes per expansion stay far below the size of a single object.
+ */
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class HAStarAllocationTest {
+    private static final int CHUNKS = 4;
+    private static final int QUERIES = 200;
+    private static final int WARMUP_RUNS = 3;
+    private static final double MAX_BYTES_PER_EXPANSION = 2;
+
+    private List<WalkableBlock> blocks;
+
+    @BeforeEach
+    public void setup(ModuleTestingHelper mteHelp) {
+        NavGraphSystem world = NavGraphTestWorld.create(mteHelp, CHUNKS);
+        blocks = NavGraphTestWorld.pickBlocks(world, CHUNKS, QUERIES * 2, new Random(0));
+    }
+
+    @Test
+    public void contour() {
+        assertAllocationFree(new HAStar(null, true));
+    }
+
+    @Test
+    public void lineOfSight() {
+        assertAllocationFree(new HAStar(new LineOfSight2d(), true));
+    }
+
+    private void assertAllocationFree(HAStar haStar) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assumptions.assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            search(haStar);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        long expanded = search(haStar);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        Assertions.assertTrue(expanded > 0);
+        double bytesPerExpansion = (double) allocated / expanded;
+        Assertions.assertTrue(bytesPerExpansion < MAX_BYTES_PER_EXPANSION,
+                allocated + " bytes allocated for " + expanded + " expanded nodes");
+    }
+
+    private long search(HAStar haStar) {
+        long expanded = 0;
+        for (int i = 0; i < blocks.size(); i += 2) {
+            haStar.reset();
+            haStar.run(blocks.get(i), blocks.get(i + 1));
+            expanded += haStar.getExpandedNodes();
+        }
+        return expanded;
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.NavGraphTestWorld;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+import org.terasology.pathfinding.model.HAStar;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times repeated hierarchical searches between random blocks of a multi-chunk world. The local paths are cached
+ * after the first runs, so the median mostly measures the search itself.
+ */
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class HAStarBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(HAStarBenchmarkTest.class);
+    private static final int CHUNKS = 4;
+    private static final int QUERIES = 200;
+    private static final int WARMUP_RUNS = 2;
+    private static final int RUNS = 5;
+
+    private NavGraphSystem world;
+    private List<WalkableBlock> blocks;
+
+    @BeforeEach
+    public void setup(ModuleTestingHelper mteHelp) {
+        world = NavGraphTestWorld.create(mteHelp, CHUNKS);
+        blocks = NavGraphTestWorld.pickBlocks(world, CHUNKS, QUERIES * 2, new Random(0));
+    }
+
+    @Test
+    public void contour() {
+        run(new HAStar(null, true), "contour");
+    }
+
+    @Test
+    public void allBlocks() {
+        run(new HAStar(null, false), "all blocks");
+    }
+
+    private void run(HAStar haStar, String name) {
+        long[] times = new long[RUNS];
+        int expectedFound = -1;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < blocks.size(); i += 2) {
+                haStar.reset();
+                if (haStar.run(blocks.get(i), blocks.get(i + 1))) {
+                    haStar.getPath();
+                    found++;
+                }
+            }
+            if (run >= WARMUP_RUNS) {
+                times[run - WARMUP_RUNS] = System.nanoTime() - start;
+            }
+            if (expectedFound != -1) {
+                Assertions.assertEquals(expectedFound, found);
+            }
+            expectedFound = found;
+        }
+        Arrays.sort(times);
+        logger.info("HAStar {}: {} queries, {} found, median {} ms", name, QUERIES, expectedFound, times[RUNS / 2] / 1000000);
+    }
+}
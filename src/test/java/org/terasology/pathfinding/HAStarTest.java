@@ -2,6 +2,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.pathfinding;
 
+import com.google.common.collect.Lists;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.junit.jupiter.api.Assertions;
@@ -20,6 +21,8 @@ import org.terasology.navgraph.NavGraphChunk;
 import org.terasology.navgraph.WalkableBlock;
 import org.terasology.pathfinding.model.HAStar;
 import org.terasology.pathfinding.model.LineOfSight;
+import org.terasology.pathfinding.model.Path;
+import org.terasology.pathfinding.model.SearchBudget;
 
 import java.util.HashMap;
 import java.util.List;
@@ -33,8 +36,22 @@ import java.util.Map;
 @Dependencies("Pathfinding")
 @UseWorldGenerator("ModuleTestingEnvironment:empty")
 public class HAStarTest {
+    private static final String[] CORRIDORS = {
+            "XXXXXXXXXXXXXXXX",
+            "             XXX",
+            "XXXXXXXXXXXXXXXX",
+            "XXX             ",
+            "XXXXXXXXXXXXXXXX",
+            "             XXX"
+    };
+
     private WalkableBlock start;
     private WalkableBlock end;
+    /**
+     * Ends of the {@link #CORRIDORS}.
+     */
+    private WalkableBlock from;
+    private WalkableBlock to;
     TextWorldBuilder builder;
     NavGraphChunk chunk;
     Vector3ic chunkLocation = new Vector3i(0, 0, 0);
@@ -121,6 +138,90 @@ public class HAStarTest {
 
     }
 
+    @Test
+    public void budgetExhausted() {
+        buildCorridors();
+
+        HAStar haStar = new HAStar(null, false);
+        Assertions.assertFalse(haStar.run(to, from, SearchBudget.ofNodes(5)));
+        Assertions.assertTrue(haStar.isBudgetExhausted());
+        Path path = haStar.getPartialPath();
+        Assertions.assertTrue(path.isPartial());
+        // like a complete path, the partial path ends with the start of the search
+        Assertions.assertEquals(to, path.getTarget());
+        Assertions.assertNotEquals(from, path.getStart());
+
+        haStar.reset();
+        Assertions.assertTrue(haStar.run(to, from, SearchBudget.UNLIMITED));
+        Assertions.assertFalse(haStar.isBudgetExhausted());
+        Assertions.assertFalse(haStar.getPath().isPartial());
+    }
+
+    @Test
+    public void resumesSlicedSearch() {
+        buildCorridors();
+
+        HAStar expected = new HAStar(null, false);
+        Assertions.assertTrue(expected.run(to, from));
+
+        HAStar haStar = new HAStar(null, false);
+        haStar.start(to, from, SearchBudget.UNLIMITED);
+        int slices = 0;
+        while (haStar.step(3) == HAStar.Status.RUNNING) {
+            slices++;
+        }
+        Assertions.assertEquals(HAStar.Status.FOUND, haStar.getStatus());
+        Assertions.assertTrue(slices > 1);
+        Assertions.assertEquals(expected.getExpandedNodes(), haStar.getExpandedNodes());
+        Assertions.assertEquals(expected.getPath().getNodes(), haStar.getPath().getNodes());
+    }
+
+    @Test
+    public void stopsCancelledSearch() {
+        buildCorridors();
+
+        HAStar haStar = new HAStar(null, false);
+        boolean[] cancelled = {false};
+        haStar.start(to, from, SearchBudget.UNLIMITED);
+        haStar.setCancellation(() -> cancelled[0]);
+        Assertions.assertEquals(HAStar.Status.RUNNING, haStar.step(3));
+        cancelled[0] = true;
+        Assertions.assertEquals(HAStar.Status.CANCELLED, haStar.step(Integer.MAX_VALUE));
+        Assertions.assertEquals(3, haStar.getExpandedNodes());
+
+        haStar.reset();
+        Assertions.assertTrue(haStar.run(to, from));
+    }
+
+    @Test
+    public void multipleGoals() {
+        buildCorridors();
+        List<WalkableBlock> goals = Lists.newArrayList(to, chunk.getBlock(7, 0, 2), from);
+
+        HAStar haStar = new HAStar(null, false);
+        Assertions.assertTrue(haStar.run(from, goals, SearchBudget.UNLIMITED));
+        HAStar single = new HAStar(null, false);
+        for (WalkableBlock goal : goals) {
+            Assertions.assertTrue(haStar.isSettled(goal));
+            single.reset();
+            Assertions.assertTrue(single.run(goal, from));
+            Path expected = single.getPath();
+            Path path = haStar.getPathFrom(goal);
+            Assertions.assertEquals(expected.size(), path.size());
+            Assertions.assertEquals(expected.getStart(), path.getStart());
+            Assertions.assertEquals(goal, path.getTarget());
+        }
+    }
+
+    /**
+     * Builds a single floor, whose corridors wind from {@link #from} to {@link #to}.
+     */
+    private void buildCorridors() {
+        builder.setGround(CORRIDORS);
+        chunk.update();
+        from = chunk.getBlock(0, 0, 0);
+        to = chunk.getBlock(15, 0, 5);
+    }
 
     private void executeExample(String[] ground, String[] pathData) {
         builder.setGround(ground);
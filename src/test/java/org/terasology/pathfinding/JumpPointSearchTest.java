@@ -0,0 +1,142 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.terasology.navgraph.BitMap;
+import org.terasology.pathfinding.model.AStar;
+import org.terasology.pathfinding.model.JumpPointSearch;
+
+import java.util.Collections;
+import java.util.List;
+
+public class JumpPointSearchTest {
+    @Test
+    public void maze() {
+        assertJps(
+                "XXXXXXXX",
+                "XS**** X",
+                "XXXXXX*X",
+                "X **** X",
+                "X*XXXXXX",
+                "X **** X",
+                "XXXXXX*X",
+                "XE**** X",
+                "XXXXXXXX"
+        );
+    }
+
+    @Test
+    public void simple() {
+        assertJps(
+                "XXXXX",
+                "XS*EX",
+                "XXXXX"
+        );
+        assertJps(
+                "XXXXXXXX",
+                "XS     X",
+                "X *    X",
+                "X  *   X",
+                "X   *  X",
+                "X    * X",
+                "X     EX",
+                "XXXXXXXX"
+        );
+        assertJps(
+                "XXXXXXXX",
+                "X     SX",
+                "X    * X",
+                "X   *  X",
+                "X  *   X",
+                "X *    X",
+                "XE     X",
+                "XXXXXXXX"
+        );
+    }
+
+    @Test
+    public void corners() {
+        assertJps(
+                "XXXXXXXXX",
+                "XS      X",
+                "X*XXXXX X",
+                "X*X     X",
+                "X*X XXXXX",
+                "X ***** X",
+                "XXXXXXX*X",
+                "X      EX",
+                "XXXXXXXXX"
+        );
+    }
+
+    @Test
+    public void openField() {
+        BitMap map = new BitMap();
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                map.setPassable(x, y);
+            }
+        }
+        int start = map.offset(1, 2);
+        int end = map.offset(map.getWidth() - 2, map.getHeight() - 5);
+
+        JumpPointSearch jps = new JumpPointSearch(map);
+        Assertions.assertTrue(jps.run(start, end));
+        Assertions.assertEquals(map.octileDistance(start, end), jps.getG(end), 0.001f);
+
+        AStar aStar = new AStar(map) {
+            @Override
+            protected float h(int current) {
+                return getGraph().octileDistance(current, getEnd());
+            }
+        };
+        Assertions.assertTrue(aStar.run(start, end));
+        Assertions.assertEquals(aStar.getG(end), jps.getG(end), 0.001f);
+        Assertions.assertEquals(aStar.getPath().size(), jps.getPath().size());
+        Assertions.assertTrue(jps.getExpandedNodes() < aStar.getExpandedNodes());
+    }
+
+    private void assertJps(String... data) {
+        BitMap map = new BitMap();
+        int start = -1;
+        int end = -1;
+        List<Integer> expected = Lists.newArrayList();
+        for (int y = 0; y < data.length; y++) {
+            String row = data[y];
+            for (int x = 0; x < row.length(); x++) {
+                int offset = map.offset(x, y);
+                switch (row.charAt(x)) {
+                    case 'S':
+                        start = offset;
+                        map.setPassable(start);
+                        expected.add(offset);
+                        break;
+                    case 'E':
+                        end = offset;
+                        map.setPassable(end);
+                        expected.add(offset);
+                        break;
+                    case '*':
+                        map.setPassable(offset);
+                        expected.add(offset);
+                        break;
+                    case ' ':
+                        map.setPassable(offset);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        JumpPointSearch sut = new JumpPointSearch(map);
+        Assertions.assertTrue(sut.run(start, end));
+        List<Integer> path = sut.getPath();
+        Collections.sort(path);
+        Collections.sort(expected);
+        Assertions.assertArrayEquals(expected.toArray(), path.toArray());
+    }
+}
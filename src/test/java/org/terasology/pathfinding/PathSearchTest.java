@@ -0,0 +1,124 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.NavGraphTestWorld;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+import org.terasology.navgraph.Cluster;
+import org.terasology.navgraph.NavGraphChunk;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+import org.terasology.pathfinding.model.ClusterSearch;
+import org.terasology.pathfinding.model.HAStar;
+import org.terasology.pathfinding.model.Path;
+import org.terasology.pathfinding.model.PathSearch;
+import org.terasology.pathfinding.model.Pathfinder;
+import org.terasology.pathfinding.model.SearchBudget;
+
+import java.util.List;
+import java.util.Random;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class PathSearchTest {
+    private static final int CHUNKS = 2 * Cluster.SIZE;
+
+    private NavGraphSystem world;
+    private Pathfinder pathfinder;
+
+    @BeforeEach
+    public void setup(ModuleTestingHelper mteHelp) {
+        world = NavGraphTestWorld.create(mteHelp, CHUNKS);
+        pathfinder = new Pathfinder(world, null);
+    }
+
+    @Test
+    public void unrelatedChunkUpdateBetweenSlices() {
+        WalkableBlock start = findBlock(NavGraphChunk.SIZE_X / 2, NavGraphChunk.SIZE_Z / 2);
+        WalkableBlock target = findBlock(NavGraphChunk.SIZE_X + NavGraphChunk.SIZE_X / 2,
+                NavGraphChunk.SIZE_Z + NavGraphChunk.SIZE_Z / 2);
+        Path expected = pathfinder.findPath(target, start);
+        Assertions.assertTrue(expected.size() > 0);
+        pathfinder.clearCache();
+
+        PathSearch search = pathfinder.startSearch(target, Lists.newArrayList(start), SearchBudget.UNLIMITED);
+        int since = world.getChunkUpdates();
+        Assertions.assertFalse(search.step(1));
+        // far from start and target, the search did not read it
+        world.updateChunk(new Vector3i(CHUNKS - 1, 0, CHUNKS - 1));
+        Assertions.assertNotEquals(since, world.getChunkUpdates());
+        Assertions.assertFalse(search.isOutdated(since));
+
+        while (!search.step(1)) {
+            Assertions.assertFalse(search.isOutdated(since));
+        }
+        Assertions.assertTrue(search.isDone());
+        Assertions.assertEquals(expected.getNodes(), search.getPaths().get(0).getNodes());
+    }
+
+    @Test
+    public void updateOfReadChunkBetweenSlices() {
+        WalkableBlock start = findBlock(NavGraphChunk.SIZE_X / 2, NavGraphChunk.SIZE_Z / 2);
+        WalkableBlock target = findBlock(NavGraphChunk.SIZE_X + NavGraphChunk.SIZE_X / 2,
+                NavGraphChunk.SIZE_Z + NavGraphChunk.SIZE_Z / 2);
+
+        PathSearch search = pathfinder.startSearch(target, Lists.newArrayList(start), SearchBudget.UNLIMITED);
+        int since = world.getChunkUpdates();
+        Assertions.assertFalse(search.step(1));
+        world.updateChunk(new Vector3i(0, 0, 0));
+        Assertions.assertTrue(search.isOutdated(since));
+        search.cancel();
+    }
+
+    @Test
+    public void oneLongDistanceStartPerSlice() {
+        Random random = new Random(5);
+        WalkableBlock target = pickBlock(random);
+        List<WalkableBlock> starts = Lists.newArrayList();
+        ClusterSearch clusterSearch = new ClusterSearch(world.getClusterGraph(), new HAStar(null, true));
+        while (starts.size() < 2) {
+            WalkableBlock start = pickBlock(random);
+            if (clusterSearch.isLongDistance(start, target) && clusterSearch.findPath(start, target) != null) {
+                starts.add(start);
+            }
+        }
+
+        PathSearch search = pathfinder.startSearch(target, starts, SearchBudget.UNLIMITED);
+        Assertions.assertFalse(search.step(Integer.MAX_VALUE));
+        Assertions.assertNotNull(search.getPaths().get(0));
+        Assertions.assertNull(search.getPaths().get(1));
+
+        Assertions.assertTrue(search.step(Integer.MAX_VALUE));
+        Assertions.assertTrue(search.isDone());
+        for (Path path : search.getPaths()) {
+            Assertions.assertTrue(path.size() > 0);
+        }
+    }
+
+    private WalkableBlock pickBlock(Random random) {
+        return NavGraphTestWorld.pickBlocks(world, CHUNKS, 1, random).get(0);
+    }
+
+    private WalkableBlock findBlock(int x, int z) {
+        for (int y = NavGraphChunk.SIZE_Y - 1; y >= 0; y--) {
+            WalkableBlock block = world.getBlock(new Vector3i(x, y, z));
+            if (block != null) {
+                return block;
+            }
+        }
+        Assertions.fail("no walkable block at " + x + ", " + z);
+        return null;
+    }
+}
@@ -4,6 +4,7 @@ package org.terasology.pathfinding;
 
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.joml.Vector3i;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -19,9 +20,25 @@ import org.terasology.engine.world.chunks.event.OnChunkLoaded;
 import org.terasology.moduletestingenvironment.MTEExtension;
 import org.terasology.moduletestingenvironment.extension.Dependencies;
 import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.pathfinding.componentSystem.OverloadPolicy;
+import org.terasology.pathfinding.componentSystem.PathRequest;
 import org.terasology.pathfinding.componentSystem.PathfinderSystem;
+import org.terasology.pathfinding.componentSystem.RequestSchedule;
+import org.terasology.pathfinding.model.Path;
 import org.terasology.pathfinding.model.Pathfinder;
+import org.terasology.pathfinding.model.SearchBudget;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -77,6 +94,151 @@ public class PathfinderSystemTest {
         assertTrue(f3.isDone());
     }
 
+    @Test
+    public void mergeIdenticalRequests() throws InterruptedException {
+        EntityRef entityRef = entityManager.create();
+        entityRef.addComponent(new CharacterComponent());
+
+        ListenableFuture<?> f1;
+        ListenableFuture<?> f2;
+        ListenableFuture<?> f3;
+        // keeps the searches pending
+        navGraphSystem.getLock().writeLock().lock();
+        try {
+            f1 = pathfinderSystem.requestPath(entityRef, new Vector3i(), Lists.newArrayList(new Vector3i()));
+            f2 = pathfinderSystem.requestPath(entityRef, new Vector3i(), Lists.newArrayList(new Vector3i()));
+            f3 = pathfinderSystem.requestPath(entityRef, new Vector3i(1, 0, 0), Lists.newArrayList(new Vector3i()));
+        } finally {
+            navGraphSystem.getLock().writeLock().unlock();
+        }
+        assertNotSame(f1, f2);
+        assertEquals(1, pathfinderSystem.getMergedRequests());
+        while (pathfinderSystem.getPathsSearched() != 3) {
+            Thread.sleep(10);
+            eventSystem.process();
+        }
+        assertTrue(f1.isDone());
+        assertTrue(f2.isDone());
+        assertTrue(f3.isDone());
+    }
+
+    @Test
+    public void skipCancelledRequests() throws InterruptedException, ExecutionException {
+        EntityRef entityRef = entityManager.create();
+        entityRef.addComponent(new CharacterComponent());
+
+        ListenableFuture<?> f1;
+        ListenableFuture<?> f2;
+        ListenableFuture<?> f3;
+        // keeps the searches queued
+        navGraphSystem.getLock().writeLock().lock();
+        try {
+            f1 = pathfinderSystem.requestPath(entityRef, new Vector3i(), Lists.newArrayList(new Vector3i()));
+            f2 = pathfinderSystem.requestPath(entityRef, new Vector3i(), Lists.newArrayList(new Vector3i()));
+            f3 = pathfinderSystem.requestPath(entityRef, new Vector3i(1, 0, 0), Lists.newArrayList(new Vector3i()));
+            f1.cancel(false);
+            f3.cancel(false);
+        } finally {
+            navGraphSystem.getLock().writeLock().unlock();
+        }
+        f2.get();
+        while (pathfinderSystem.getPathsSearched() != 1) {
+            Thread.sleep(10);
+        }
+        assertTrue(f1.isCancelled());
+        assertEquals(2, pathfinderSystem.getCancelledRequests());
+    }
+
+    @Test
+    public void dropExpiredRequests() throws InterruptedException {
+        EntityRef entityRef = entityManager.create();
+        entityRef.addComponent(new CharacterComponent());
+
+        ListenableFuture<?> future;
+        // keeps the search from running until its deadline passed, the worker may take it from the queue meanwhile, but
+        // checks the deadline again, once it holds the read lock
+        navGraphSystem.getLock().writeLock().lock();
+        try {
+            future = pathfinderSystem.requestPath(entityRef, new Vector3i(), Lists.newArrayList(new Vector3i()),
+                    SearchBudget.UNLIMITED, RequestSchedule.ofDeadline(1, TimeUnit.MILLISECONDS));
+            Thread.sleep(10);
+        } finally {
+            navGraphSystem.getLock().writeLock().unlock();
+        }
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof TimeoutException);
+        // counted after the future failed
+        while (pathfinderSystem.getExpiredRequests() == 0) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, pathfinderSystem.getExpiredRequests());
+        assertEquals(0, pathfinderSystem.getPathsSearched());
+    }
+
+    @Test
+    public void searchBatchOfRequests() throws InterruptedException {
+        EntityRef entityRef = entityManager.create();
+        entityRef.addComponent(new CharacterComponent());
+
+        List<PathRequest> requests = Lists.newArrayList(
+                new PathRequest(new Vector3i(), new Vector3i()),
+                new PathRequest(new Vector3i(1, 0, 0), new Vector3i()),
+                new PathRequest(new Vector3i(), new Vector3i(1, 0, 0)));
+        List<? extends ListenableFuture<?>> futures = pathfinderSystem.requestPaths(entityRef, requests);
+
+        assertEquals(3, futures.size());
+        while (pathfinderSystem.getPathsSearched() != 3) {
+            Thread.sleep(10);
+            eventSystem.process();
+        }
+        for (ListenableFuture<?> future : futures) {
+            assertTrue(future.isDone());
+        }
+        assertEquals(0, pathfinderSystem.getMergedRequests());
+    }
+
+    @Test
+    public void asyncRequestWaitsForChunk() throws Exception {
+        EntityRef entityRef = entityManager.create();
+        entityRef.addComponent(new CharacterComponent());
+
+        CompletableFuture<List<Path>> future = pathfinderSystem.requestPathAsync(new Vector3i(),
+                Lists.newArrayList(new Vector3i()), SearchBudget.UNLIMITED, MoreExecutors.directExecutor());
+        Thread.sleep(50);
+        assertFalse(future.isDone());
+
+        navGraphSystem.chunkReady(new OnChunkLoaded(new Vector3i()), entityRef);
+        future.get(10, TimeUnit.SECONDS);
+        // counted after the future completed
+        while (pathfinderSystem.getPathsSearched() == 0) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, pathfinderSystem.getPathsSearched());
+    }
+
+    @Test
+    public void rejectRequestsBeyondQueueBound() throws InterruptedException, ExecutionException {
+        EntityRef entityRef = entityManager.create();
+        entityRef.addComponent(new CharacterComponent());
+        pathfinderSystem.setQueueBound(1, OverloadPolicy.REJECT_NEW);
+
+        ListenableFuture<?> f1;
+        ListenableFuture<?> f2;
+        // keeps the first search pending
+        navGraphSystem.getLock().writeLock().lock();
+        try {
+            f1 = pathfinderSystem.requestPath(entityRef, new Vector3i(), Lists.newArrayList(new Vector3i()));
+            f2 = pathfinderSystem.requestPath(entityRef, new Vector3i(1, 0, 0), Lists.newArrayList(new Vector3i()));
+            assertEquals(1, pathfinderSystem.getQueueDepth());
+        } finally {
+            navGraphSystem.getLock().writeLock().unlock();
+        }
+        ExecutionException e = assertThrows(ExecutionException.class, f2::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, pathfinderSystem.getRejectedRequests());
+        f1.get();
+    }
+
     @BeforeEach
     public void setup(EntityManager entityManager, EventSystem eventSystem, ComponentSystemManager componentSystemManager) {
         this.entityManager = (PojoEntityManager) entityManager;
@@ -0,0 +1,133 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.NavGraphTestWorld;
+import org.terasology.engine.core.ComponentSystemManager;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.ModuleTestingHelper;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
+import org.terasology.navgraph.NavGraphChunk;
+import org.terasology.navgraph.NavGraphSystem;
+import org.terasology.navgraph.WalkableBlock;
+import org.terasology.pathfinding.componentSystem.PathfinderSystem;
+import org.terasology.pathfinding.model.Path;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Searches on the pool of workers, while the chunks they search are rebuilt.
+ */
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies("Pathfinding")
+@UseWorldGenerator("Pathfinding:pathfinder")
+public class PathfinderWorkerTest {
+    private static final int CHUNKS = 3;
+    private static final int WORKERS = 4;
+    private static final int REQUESTS = 100;
+
+    private NavGraphSystem navGraphSystem;
+    private PathfinderSystem pathfinderSystem;
+    private EntityRef entity;
+
+    @BeforeEach
+    public void setup(ModuleTestingHelper mteHelp, EntityManager entityManager,
+                      ComponentSystemManager componentSystemManager) {
+        for (int x = 0; x < CHUNKS; x++) {
+            for (int z = 0; z < CHUNKS; z++) {
+                mteHelp.forceAndWaitForGeneration(new Vector3i(x * NavGraphChunk.SIZE_X, 0, z * NavGraphChunk.SIZE_Z));
+            }
+        }
+        navGraphSystem = new NavGraphSystem();
+        componentSystemManager.register(navGraphSystem);
+        rebuildAll();
+
+        pathfinderSystem = new PathfinderSystem(WORKERS);
+        componentSystemManager.register(pathfinderSystem);
+        entity = entityManager.create();
+    }
+
+    @Test
+    public void searchWhileChunksRebuild() throws InterruptedException, ExecutionException {
+        Random random = new Random(5);
+        List<WalkableBlock> blocks = NavGraphTestWorld.pickBlocks(navGraphSystem, CHUNKS, 2 * REQUESTS, random);
+        List<Vector3i> targets = Lists.newArrayList();
+        List<Vector3i> starts = Lists.newArrayList();
+        List<ListenableFuture<List<Path>>> futures = Lists.newArrayList();
+        for (int i = 0; i < REQUESTS; i++) {
+            Vector3i target = blocks.get(2 * i).getBlockPosition();
+            Vector3i start = blocks.get(2 * i + 1).getBlockPosition();
+            if (!target.equals(start)) {
+                targets.add(target);
+                starts.add(start);
+                futures.add(pathfinderSystem.requestPath(entity, target, Lists.newArrayList(start)));
+            }
+        }
+
+        int rebuilds = 0;
+        while (!allDone(futures)) {
+            rebuildAll();
+            rebuilds++;
+        }
+        Assertions.assertTrue(rebuilds > 0);
+
+        int found = 0;
+        // the world did not change, so the searches find the same paths, once the chunks are not rebuilt anymore
+        for (int i = 0; i < futures.size(); i++) {
+            List<Path> paths = futures.get(i).get();
+            List<Path> expected = pathfinderSystem.requestPath(entity, targets.get(i),
+                    Lists.newArrayList(starts.get(i))).get();
+            Assertions.assertNotNull(paths);
+            Assertions.assertEquals(1, paths.size());
+            Assertions.assertFalse(paths.get(0).isPartial());
+            Assertions.assertEquals(positions(expected.get(0)), positions(paths.get(0)));
+            if (paths.get(0).size() > 0) {
+                found++;
+            }
+        }
+        Assertions.assertTrue(found > futures.size() / 2);
+    }
+
+    private void rebuildAll() {
+        for (int x = 0; x < CHUNKS; x++) {
+            for (int z = 0; z < CHUNKS; z++) {
+                navGraphSystem.updateChunk(new Vector3i(x, 0, z));
+            }
+        }
+    }
+
+    private boolean allDone(List<ListenableFuture<List<Path>>> futures) {
+        for (ListenableFuture<List<Path>> future : futures) {
+            if (!future.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Blocks of the path may belong to chunks, that were rebuilt after the search, so paths are compared by the
+     * positions of their blocks.
+     */
+    private List<Vector3i> positions(Path path) {
+        List<Vector3i> positions = Lists.newArrayList();
+        for (WalkableBlock block : path) {
+            positions.add(block.getBlockPosition());
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2026 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.pathfinding;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.terasology.navgraph.BitMap;
+import org.terasology.pathfinding.model.JumpPointSearch;
+import org.terasology.pathfinding.model.OpenList;
+import org.terasology.pathfinding.model.RadixHeap;
+
+import java.util.Random;
+
+public class RadixHeapTest {
+    @Test
+    public void removesInKeyOrder() {
+        Random random = new Random(0);
+        RadixHeap heap = new RadixHeap(512);
+        float[] keys = new float[512];
+        int next = 0;
+        float lastKey = 0;
+        while (next < keys.length || !heap.isEmpty()) {
+            // keep inserting while removing, as a search does; new keys are never below the last removed key
+            for (int i = 0; i < 3 && next < keys.length; i++) {
+                keys[next] = lastKey + random.nextInt(20) * BitMap.SQRT_2 + random.nextInt(20);
+                heap.insert(next, keys[next]);
+                next++;
+            }
+            int item = heap.removeMin();
+            Assertions.assertTrue(keys[item] >= lastKey - 1f / RadixHeap.FIXED_POINT_SCALE);
+            Assertions.assertFalse(heap.contains(item));
+            lastKey = keys[item];
+        }
+    }
+
+    @Test
+    public void update() {
+        RadixHeap heap = new RadixHeap();
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.insert(3, 30);
+        heap.insert(4, 40);
+
+        heap.update(4, 5);
+        heap.update(1, 25);
+
+        Assertions.assertEquals(4, heap.removeMin());
+        Assertions.assertEquals(2, heap.removeMin());
+        Assertions.assertEquals(1, heap.removeMin());
+        Assertions.assertEquals(3, heap.removeMin());
+        Assertions.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void clampsKeysBelowLastMin() {
+        RadixHeap heap = new RadixHeap();
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        Assertions.assertEquals(1, heap.removeMin());
+
+        heap.insert(3, 5);
+        Assertions.assertEquals(3, heap.removeMin());
+        Assertions.assertEquals(2, heap.removeMin());
+    }
+
+    @Test
+    public void clear() {
+        RadixHeap heap = new RadixHeap();
+        heap.insert(1, 100);
+        heap.insert(2, 200);
+        heap.removeMin();
+        heap.clear();
+
+        Assertions.assertTrue(heap.isEmpty());
+        Assertions.assertFalse(heap.contains(2));
+        heap.insert(2, 1);
+        Assertions.assertEquals(2, heap.removeMin());
+    }
+
+    @Test
+    public void sameCostsAsBinaryHeap() {
+        Random random = new Random(1);
+        BitMap map = new BitMap();
+        for (int i = 0; i < map.getNumberOfNodes(); i++) {
+            if (random.nextFloat() > 0.25f) {
+                map.setPassable(i);
+            }
+        }
+        JumpPointSearch binary = new JumpPointSearch(map, OpenList.Type.BINARY_HEAP);
+        JumpPointSearch radix = new JumpPointSearch(map, OpenList.Type.RADIX_HEAP);
+        for (int i = 0; i < 100; i++) {
+            int start = random.nextInt(map.getNumberOfNodes());
+            int end = random.nextInt(map.getNumberOfNodes());
+            if (!map.isPassable(start) || !map.isPassable(end)) {
+                continue;
+            }
+            boolean found = binary.run(start, end);
+            Assertions.assertEquals(found, radix.run(start, end));
+            Assertions.assertEquals(binary.getG(end), radix.getG(end), 0.01f);
+        }
+    }
+}